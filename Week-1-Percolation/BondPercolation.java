@@ -0,0 +1,202 @@
+public class BondPercolation {
+
+    private static final byte CONNECTED_TO_TOP = 1;
+    private static final byte CONNECTED_TO_BOTTOM = 2;
+
+    private final UnionFind uf;
+    private final byte[] rootStatus;
+    private final long[] openBonds;
+    private final int size;
+    private final int horizontalBonds;
+
+    private int numberOfOpenBonds;
+    private boolean percolates;
+
+    /**
+     * Initialize an n x n grid of sites where every site is open and every bond between two
+     * neighboring sites is closed. Bonds have flat indices: the n * (n - 1) horizontal bonds come
+     * first, row by row, then the (n - 1) * n vertical bonds, row by row. As in Percolation, there
+     * is a single Union-Find over the sites, and every root carries flags telling whether its
+     * component touches the top row and/or the bottom row. The open bonds are kept in a long[]
+     * bitset. A 1 x 1 grid has no bond and percolates from the start.
+     *
+     * @param n Size of the grid
+     * @throws IllegalArgumentException if n is less than or equals to 0
+     */
+    public BondPercolation(int n) {
+        if (n <= 0)
+            throw new IllegalArgumentException(
+                    "BondPercolation.BondPercolation(): Argument cannot be 0 or less!");
+
+        size = n;
+        horizontalBonds = n * (n - 1);
+        uf = new UnionFind(n * n);
+        rootStatus = new byte[n * n];
+        for (int col = 0; col < n; col++) {
+            rootStatus[col] |= CONNECTED_TO_TOP;
+            rootStatus[(n - 1) * n + col] |= CONNECTED_TO_BOTTOM;
+        }
+        openBonds = new long[(2 * horizontalBonds + 63) >>> 6];
+        numberOfOpenBonds = 0;
+        percolates = n == 1;
+    }
+
+    /**
+     * Given two neighboring sites, open the bond between them
+     *
+     * @param row1 Row index of the first site
+     * @param col1 Col index of the first site
+     * @param row2 Row index of the second site
+     * @param col2 Col index of the second site
+     * @throws IllegalArgumentException if a site is out of bounds or the sites are not neighbors
+     */
+    public void open(int row1, int col1, int row2, int col2) {
+        openBond(bond(row1, col1, row2, col2, "open"));
+    }
+
+    /**
+     * Given a bond's flat index, open it if it has not been opened, connect the two sites it
+     * joins, and increment numberOfOpenBonds by 1.
+     *
+     * @param bond Flat index of the bond, between 0 and bonds() - 1
+     * @throws IllegalArgumentException if bond is out of bounds
+     */
+    public void openBond(int bond) {
+        if (bond < 0 || bond >= bonds())
+            throw new IllegalArgumentException(
+                    "BondPercolation.openBond(): Argument out of bounds!");
+        if (isOpenBond(bond))
+            return;
+
+        int site;
+        int neighbor;
+        if (bond < horizontalBonds) {
+            int row = bond / (size - 1);
+            site = row * size + bond % (size - 1);
+            neighbor = site + 1;
+        } else {
+            site = bond - horizontalBonds;
+            neighbor = site + size;
+        }
+
+        int siteRoot = uf.find(site);
+        int neighborRoot = uf.find(neighbor);
+        if (siteRoot != neighborRoot) {
+            byte status = (byte) (rootStatus[siteRoot] | rootStatus[neighborRoot]);
+            rootStatus[uf.union(siteRoot, neighborRoot)] = status;
+            if (status == (CONNECTED_TO_TOP | CONNECTED_TO_BOTTOM))
+                percolates = true;
+        }
+
+        openBonds[bond >>> 6] |= 1L << bond;
+        numberOfOpenBonds++;
+    }
+
+    /**
+     * Given two neighboring sites, calculate the flat index of the bond between them
+     *
+     * @param row1   Row index of the first site
+     * @param col1   Col index of the first site
+     * @param row2   Row index of the second site
+     * @param col2   Col index of the second site
+     * @param method Name of the calling method, for the exception message
+     * @return Flat index of the bond
+     * @throws IllegalArgumentException if a site is out of bounds or the sites are not neighbors
+     */
+    private int bond(int row1, int col1, int row2, int col2, String method) {
+        if (row1 <= 0 || row1 > size || col1 <= 0 || col1 > size
+                || row2 <= 0 || row2 > size || col2 <= 0 || col2 > size)
+            throw new IllegalArgumentException(
+                    "BondPercolation." + method + "(): Argument(s) out of bounds!");
+
+        int row = Math.min(row1, row2) - 1;
+        int col = Math.min(col1, col2) - 1;
+        if (row1 == row2 && Math.abs(col1 - col2) == 1)
+            return row * (size - 1) + col;
+        if (col1 == col2 && Math.abs(row1 - row2) == 1)
+            return horizontalBonds + row * size + col;
+        throw new IllegalArgumentException(
+                "BondPercolation." + method + "(): Sites are not neighbors!");
+    }
+
+    /**
+     * Given two neighboring sites, check to see if the bond between them is open
+     *
+     * @param row1 Row index of the first site
+     * @param col1 Col index of the first site
+     * @param row2 Row index of the second site
+     * @param col2 Col index of the second site
+     * @return True if the bond is open. False otherwise.
+     * @throws IllegalArgumentException if a site is out of bounds or the sites are not neighbors
+     */
+    public boolean isOpen(int row1, int col1, int row2, int col2) {
+        return isOpenBond(bond(row1, col1, row2, col2, "isOpen"));
+    }
+
+    /**
+     * Given a bond's flat index, check its bit in openBonds. No bounds check is done here.
+     *
+     * @param bond Flat index of the bond
+     * @return True if the bond is open. False otherwise.
+     */
+    private boolean isOpenBond(int bond) {
+        return (openBonds[bond >>> 6] & (1L << bond)) != 0;
+    }
+
+    /**
+     * Given a site's row and column, check to see if it is connected to the top row through open
+     * bonds
+     *
+     * @param row Row index of the site
+     * @param col Col index of the site
+     * @return True if the site is Full. False otherwise.
+     */
+    public boolean isFull(int row, int col) {
+        if (row <= 0 || row > size || col <= 0 || col > size)
+            throw new IllegalArgumentException(
+                    "BondPercolation.isFull(): Argument(s) is out of bounds");
+        return (rootStatus[uf.find((row - 1) * size + col - 1)] & CONNECTED_TO_TOP) != 0;
+    }
+
+    /**
+     * @return Number of bonds in the grid, 2 * n * (n - 1)
+     */
+    public int bonds() {
+        return 2 * horizontalBonds;
+    }
+
+    /**
+     * @return Number of open bonds in the grid
+     */
+    public int numberOfOpenBonds() {
+        return numberOfOpenBonds;
+    }
+
+    /**
+     * Check to see if a path of open bonds connects the top row to the bottom row
+     *
+     * @return True if top and bottom are connected. False otherwise.
+     */
+    public boolean percolates() {
+        return percolates;
+    }
+
+    /**
+     * Test client
+     */
+    public static void main(String[] args) {
+        BondPercolation p = new BondPercolation(3);
+        System.out.println("full1: " + p.isFull(1, 3));
+        System.out.println("full2: " + p.isFull(2, 1));
+
+        p.open(1, 1, 2, 1);
+        System.out.println("full3: " + p.isFull(2, 1));
+        System.out.println("percolates1: " + p.percolates());
+
+        p.open(2, 1, 2, 2);
+        p.open(3, 2, 2, 2);
+        System.out.println("percolates2: " + p.percolates());
+        System.out.println("open: " + p.isOpen(2, 2, 3, 2));
+        System.out.println(p.numberOfOpenBonds() + " of " + p.bonds() + " bonds open");
+    }
+}
@@ -0,0 +1,340 @@
+import edu.princeton.cs.algs4.StdRandom;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class ConcurrentPercolation {
+
+    private static final byte CONNECTED_TO_TOP = 1;
+    private static final byte CONNECTED_TO_BOTTOM = 2;
+    private static final byte PERCOLATING = CONNECTED_TO_TOP | CONNECTED_TO_BOTTOM;
+
+    private static final VarHandle INTS = MethodHandles.arrayElementVarHandle(int[].class);
+    private static final VarHandle BYTES = MethodHandles.arrayElementVarHandle(byte[].class);
+    private static final VarHandle LONGS = MethodHandles.arrayElementVarHandle(long[].class);
+
+    private final int[] parent;
+    private final byte[] rootStatus;
+    private final long[] openSites;
+    private final long[] connectedSites;
+    private final AtomicInteger numberOfOpenSites;
+    private final int size;
+
+    private volatile boolean percolates;
+
+    /**
+     * Initialize an n x n grid that many threads may open at the same time. It has the same
+     * layout as Percolation: a single Union-Find over the sites, top/bottom flags on the roots and
+     * a long[] bitset of open sites, plus a second bitset of the sites whose unions with their
+     * neighbors are done. Every array is only ever updated with compare-and-set through
+     * a VarHandle, and the open-site counter is an AtomicInteger, so no method takes a lock.
+     *
+     * @param n Size of the grid
+     * @throws IllegalArgumentException if n is less than or equals to 0
+     */
+    public ConcurrentPercolation(int n) {
+        if (n <= 0)
+            throw new IllegalArgumentException(
+                    "ConcurrentPercolation.ConcurrentPercolation(): Argument cannot be 0 or less!");
+
+        parent = new int[n * n];
+        for (int i = 0; i < parent.length; i++)
+            parent[i] = i;
+        rootStatus = new byte[n * n];
+        openSites = new long[(n * n + 63) >>> 6];
+        connectedSites = new long[(n * n + 63) >>> 6];
+        numberOfOpenSites = new AtomicInteger();
+        percolates = false;
+        size = n;
+    }
+
+    /**
+     * Given a site's row and column indices, open it if it has not been opened and connect it to
+     * its open neighbors. Safe to call from any number of threads. The site's top/bottom flags are
+     * set first, then its open bit is claimed with a compare-and-set, so exactly one of several
+     * threads opening the same site counts it. The bit is visible before the unions are done, so
+     * a thread that finds the site open but not yet connected does the unions too instead of
+     * returning early: unions are idempotent, and the connected bit is only set once they are
+     * done, so isFull() and percolates() are up to date whenever any open() of the site returns.
+     * A neighbor opened concurrently is either seen as open here, or sees this site as open when
+     * it does its own unions, so no connection is lost.
+     *
+     * @param row Row index of site needed to be opened
+     * @param col Col index of site needed to be opened
+     * @throws IllegalArgumentException if either row or col index is out of bounds
+     */
+    public void open(int row, int col) {
+        if (row > size || col > size || row <= 0 || col <= 0)
+            throw new IllegalArgumentException(
+                    "ConcurrentPercolation.open(): Argument(s) out of bounds!");
+
+        int site = (row - 1) * size + col - 1;
+        if (isSet(connectedSites, site))
+            return;
+
+        if (!isSet(openSites, site)) {
+            byte status = 0;
+            if (row == 1)
+                status |= CONNECTED_TO_TOP;
+            if (row == size)
+                status |= CONNECTED_TO_BOTTOM;
+            addFlags(site, status);
+
+            if (claim(openSites, site))
+                numberOfOpenSites.incrementAndGet();
+        }
+
+        if (col < size && isSet(openSites, site + 1))
+            union(site, site + 1);
+        if (col > 1 && isSet(openSites, site - 1))
+            union(site, site - 1);
+        if (row < size && isSet(openSites, site + size))
+            union(site, site + size);
+        if (row > 1 && isSet(openSites, site - size))
+            union(site, site - size);
+        claim(connectedSites, site);
+    }
+
+    /**
+     * Set the site's bit in a bitset with a compare-and-set loop
+     *
+     * @param bits Bitset, either openSites or connectedSites
+     * @param site Index of the site
+     * @return True if this call set the bit. False if it was already set.
+     */
+    private boolean claim(long[] bits, int site) {
+        int word = site >>> 6;
+        long bit = 1L << site;
+        long current = (long) LONGS.getVolatile(bits, word);
+        while ((current & bit) == 0) {
+            long witness = (long) LONGS.compareAndExchange(bits, word, current, current | bit);
+            if (witness == current)
+                return true;
+            current = witness;
+        }
+        return false;
+    }
+
+    /**
+     * Given a site's index, check its bit in a bitset. No bounds check is done here.
+     *
+     * @param bits Bitset, either openSites or connectedSites
+     * @param site Index of the site
+     * @return True if the bit is set. False otherwise.
+     */
+    private boolean isSet(long[] bits, int site) {
+        return ((long) LONGS.getVolatile(bits, site >>> 6) & (1L << site)) != 0;
+    }
+
+    /**
+     * Find the root of a site, halving the path on the way up. A halving step is a
+     * compare-and-set of the parent to the grandparent, which only ever shortens a path to the
+     * same root, so a failed one is simply skipped.
+     *
+     * @param site Index of the site
+     * @return Root of the site's component
+     */
+    private int find(int site) {
+        while (true) {
+            int up = (int) INTS.getVolatile(parent, site);
+            if (up == site)
+                return site;
+            int grandparent = (int) INTS.getVolatile(parent, up);
+            if (grandparent != up)
+                INTS.compareAndSet(parent, site, up, grandparent);
+            site = grandparent;
+        }
+    }
+
+    /**
+     * Merge the components of two sites. The roots are linked by index, the smaller under the
+     * larger, which keeps the forest acyclic without ranks. The link is a compare-and-set on a
+     * parent that must still be a root, retried if another thread linked it first. After a
+     * successful link, the flags of the old root are added to the new one.
+     *
+     * @param p First site
+     * @param q Second site
+     */
+    private void union(int p, int q) {
+        while (true) {
+            int rootP = find(p);
+            int rootQ = find(q);
+            if (rootP == rootQ)
+                return;
+
+            int child = Math.min(rootP, rootQ);
+            int root = Math.max(rootP, rootQ);
+            if (INTS.compareAndSet(parent, child, child, root)) {
+                addFlags(root, (byte) BYTES.getVolatile(rootStatus, child));
+                return;
+            }
+        }
+    }
+
+    /**
+     * Add flags to a site's status and make them reach the current root of its component. After
+     * the flags are in, the site is checked again: if it has been linked under another root
+     * meanwhile, the thread that linked it may have read its status too early, so the flags are
+     * pushed on to the new root. Either way, the flags end up on the root. Raise percolates as
+     * soon as a root carries both flags.
+     *
+     * @param site  Index of the site
+     * @param flags Top/bottom flags to add
+     */
+    private void addFlags(int site, byte flags) {
+        while (true) {
+            byte current = (byte) BYTES.getVolatile(rootStatus, site);
+            while ((current & flags) != flags) {
+                byte witness = (byte) BYTES.compareAndExchange(
+                        rootStatus, site, current, (byte) (current | flags));
+                if (witness == current)
+                    break;
+                current = witness;
+            }
+            if ((current | flags) == PERCOLATING)
+                percolates = true;
+
+            int root = find(site);
+            if (root == site)
+                return;
+            site = root;
+        }
+    }
+
+    /**
+     * Given a site's row and column, check to see if that site is open
+     *
+     * @param row Row index of site needed to be checked if open
+     * @param col Col index of site needed to be checked if open
+     * @return True if the site is open. False otherwise.
+     */
+    public boolean isOpen(int row, int col) {
+        if (0 >= row || row > size || 0 >= col || col > size)
+            throw new IllegalArgumentException(
+                    "ConcurrentPercolation.isOpen(): Argument(s) is out of bounds");
+        return isSet(openSites, (row - 1) * size + col - 1);
+    }
+
+    /**
+     * Given a site's row and column, check to see if that site is open and is connected to the top
+     * row. The flags are read on the root and the root is checked again afterwards, so the answer
+     * reflects a single root that was current at the time of the read.
+     *
+     * @param row Row index of site needed to be checked for fullness
+     * @param col Col index of site needed to be checked for fullness
+     * @return True if the site is Full. False otherwise.
+     */
+    public boolean isFull(int row, int col) {
+        if (0 >= row || row > size || 0 >= col || col > size)
+            throw new IllegalArgumentException(
+                    "ConcurrentPercolation.isFull(): Argument(s) is out of bounds");
+
+        int site = (row - 1) * size + col - 1;
+        if (!isSet(openSites, site))
+            return false;
+        while (true) {
+            int root = find(site);
+            byte status = (byte) BYTES.getVolatile(rootStatus, root);
+            if ((status & CONNECTED_TO_TOP) != 0)
+                return true;
+            if ((int) INTS.getVolatile(parent, root) == root)
+                return false;
+        }
+    }
+
+    /**
+     * @return Number of open sites in the grid
+     */
+    public int numberOfOpenSites() {
+        return numberOfOpenSites.get();
+    }
+
+    /**
+     * Check to see if the system percolates. The flag is volatile and only ever goes from false
+     * to true, when some root gets both top and bottom flags. So once an open() that makes the
+     * grid percolate has returned, every thread sees true.
+     *
+     * @return True if top and bottom are connected. False otherwise.
+     */
+    public boolean percolates() {
+        return percolates;
+    }
+
+    /**
+     * Test client: open sites from several threads at once until the grid percolates, then
+     * replay the same open sites on a Percolation and compare every site. Then open a single
+     * site from several threads at once and check isFull() and percolates() right after each
+     * call returns.
+     */
+    public static void main(String[] args) throws InterruptedException {
+        int n = 300;
+        int threads = Runtime.getRuntime().availableProcessors();
+        ConcurrentPercolation p = new ConcurrentPercolation(n);
+        int[] order = StdRandom.permutation(n * n);
+
+        Thread[] workers = new Thread[threads];
+        for (int t = 0; t < threads; t++) {
+            int first = t;
+            workers[t] = new Thread(() -> {
+                for (int i = first; i < order.length && !p.percolates(); i += threads)
+                    p.open(order[i] / n + 1, order[i] % n + 1);
+            });
+            workers[t].start();
+        }
+        for (Thread worker : workers)
+            worker.join();
+
+        Percolation sequential = new Percolation(n);
+        for (int row = 1; row <= n; row++)
+            for (int col = 1; col <= n; col++)
+                if (p.isOpen(row, col))
+                    sequential.open(row, col);
+
+        int mismatches = 0;
+        for (int row = 1; row <= n; row++)
+            for (int col = 1; col <= n; col++)
+                if (p.isFull(row, col) != sequential.isFull(row, col))
+                    mismatches++;
+
+        System.out.println("threads: " + threads);
+        System.out.println("open sites: " + p.numberOfOpenSites() + " / "
+                + sequential.numberOfOpenSites());
+        System.out.println("percolates: " + p.percolates() + " / " + sequential.percolates());
+        System.out.println("isFull mismatches: " + mismatches);
+
+        // Every thread opens the same last site of a column whose other sites are already open,
+        // and checks right after its own open() returns that the site is full and the grid
+        // percolates, whether its call opened the site or found it already opened
+        int rounds = 2000;
+        int hammerThreads = Math.max(threads, 4);
+        AtomicInteger stale = new AtomicInteger();
+        for (int round = 0; round < rounds; round++) {
+            ConcurrentPercolation column = new ConcurrentPercolation(n);
+            for (int row = 1; row < n; row++)
+                column.open(row, 1);
+
+            CountDownLatch start = new CountDownLatch(1);
+            Thread[] hammers = new Thread[hammerThreads];
+            for (int t = 0; t < hammerThreads; t++) {
+                hammers[t] = new Thread(() -> {
+                    try {
+                        start.await();
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                    column.open(n, 1);
+                    if (!column.isFull(n, 1) || !column.percolates())
+                        stale.incrementAndGet();
+                });
+                hammers[t].start();
+            }
+            start.countDown();
+            for (Thread hammer : hammers)
+                hammer.join();
+        }
+        System.out.println("stale reads after a duplicate open(): " + stale.get() + " in "
+                + rounds * hammerThreads + " calls");
+    }
+}
@@ -0,0 +1,295 @@
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+public class MappedPercolation {
+
+    private static final int CONNECTED_TO_TOP = 1;
+    private static final int CONNECTED_TO_BOTTOM = 2;
+    private static final int FLAGS = CONNECTED_TO_TOP | CONNECTED_TO_BOTTOM;
+    private static final int RANK_SHIFT = 2;
+
+    private static final int SEGMENT_BITS = 30;
+    private static final long SEGMENT_MASK = (1L << SEGMENT_BITS) - 1;
+
+    private final MappedByteBuffer[] openSites;
+    private final MappedByteBuffer[] parent;
+    private final MappedByteBuffer[] status;
+    private final int size;
+
+    private long numberOfOpenSites;
+    private boolean percolates;
+
+    /**
+     * Initialize an n x n grid whose state lives in memory-mapped files instead of the heap, so
+     * the grid can be larger than the heap and the OS page cache decides what stays in memory.
+     * The layout is the one of Percolation, with long site indices so that n can go up to 100,000
+     * and beyond: a bitset of open sites (n * n / 8 bytes), the Union-Find parent of every site as
+     * a long (8 * n * n bytes) and a status byte per site holding the top/bottom flags in its low
+     * 2 bits and the union-by-rank rank in the others (n * n bytes).
+     *
+     * Each array is a temporary file in directory, mapped in 1 GB segments because a single
+     * mapping cannot exceed 2 GB. The files are never filled up front: a new file reads as zeros
+     * and the OS only allocates the pages that get written. So a zero parent means "I am a root"
+     * and parents are stored plus one. The files are deleted when the channel that created them
+     * is closed, right after mapping, so they take no disk space once the mappings are garbage
+     * collected.
+     *
+     * @param n         Size of the grid
+     * @param directory Directory for the backing files, on a disk with room for about 9 * n * n
+     *                  bytes
+     * @throws IllegalArgumentException if n is less than or equals to 0 or directory is null
+     * @throws UncheckedIOException     if the backing files cannot be created or mapped
+     */
+    public MappedPercolation(int n, Path directory) {
+        if (n <= 0 || directory == null)
+            throw new IllegalArgumentException(
+                    "MappedPercolation.MappedPercolation(): Argument(s) out of bounds!");
+
+        long sites = (long) n * n;
+        size = n;
+        openSites = map(directory, "open", ((sites + 63) >>> 6) * 8);
+        parent = map(directory, "parent", sites * 8);
+        status = map(directory, "status", sites);
+        numberOfOpenSites = 0;
+        percolates = false;
+    }
+
+    /**
+     * Create a temporary file of the given length in directory and map it in segments of 2^30
+     * bytes. Element sizes are powers of two no larger than a segment, so no element ever
+     * straddles two segments.
+     *
+     * @param directory Directory for the file
+     * @param name      Name of the array, used in the file name
+     * @param bytes     Length of the file
+     * @return Mapped segments covering the file
+     */
+    private static MappedByteBuffer[] map(Path directory, String name, long bytes) {
+        try {
+            Path file = Files.createTempFile(directory, "percolation-", "." + name);
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ,
+                                                        StandardOpenOption.WRITE,
+                                                        StandardOpenOption.DELETE_ON_CLOSE)) {
+                MappedByteBuffer[] segments =
+                        new MappedByteBuffer[(int) ((bytes + SEGMENT_MASK) >>> SEGMENT_BITS)];
+                for (int i = 0; i < segments.length; i++) {
+                    long position = (long) i << SEGMENT_BITS;
+                    long length = Math.min(SEGMENT_MASK + 1, bytes - position);
+                    segments[i] = channel.map(FileChannel.MapMode.READ_WRITE, position, length);
+                }
+                return segments;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(
+                    "MappedPercolation.map(): Cannot map " + name + " file!", e);
+        }
+    }
+
+    /**
+     * Given a site's row and column indices, open it if it has not been opened, connect it to its
+     * neighbors, and increment numberOfOpenSites by 1.
+     *
+     * @param row Row index of site needed to be opened
+     * @param col Col index of site needed to be opened
+     * @throws IllegalArgumentException if either row or col index is out of bounds
+     */
+    public void open(int row, int col) {
+        if (row > size || col > size || row <= 0 || col <= 0)
+            throw new IllegalArgumentException(
+                    "MappedPercolation.open(): Argument(s) out of bounds!");
+
+        long site = gridToUfCoordinate(row, col);
+        if (isOpenSite(site))
+            return;
+
+        int flags = 0;
+        if (row == 1)
+            flags |= CONNECTED_TO_TOP;
+        if (row == size)
+            flags |= CONNECTED_TO_BOTTOM;
+        status[segment(site)].put(offset(site), (byte) flags);
+
+        long root = site;
+        if (col < size && isOpenSite(site + 1))
+            root = union(root, site + 1);
+        if (col > 1 && isOpenSite(site - 1))
+            root = union(root, site - 1);
+        if (row < size && isOpenSite(site + size))
+            root = union(root, site + size);
+        if (row > 1 && isOpenSite(site - size))
+            root = union(root, site - size);
+
+        if ((status(root) & FLAGS) == FLAGS)
+            percolates = true;
+
+        long word = (site >>> 6) << 3;
+        MappedByteBuffer words = openSites[segment(word)];
+        words.putLong(offset(word), words.getLong(offset(word)) | (1L << site));
+        numberOfOpenSites++;
+    }
+
+    /**
+     * Union the component rooted at root with the component of an open neighbor, by rank, and
+     * merge the top/bottom flags onto the new root.
+     *
+     * @param root     Root of the component of the site being opened
+     * @param neighbor Open neighbor of the site being opened
+     * @return Root of the merged component
+     */
+    private long union(long root, long neighbor) {
+        long other = find(neighbor);
+        if (other == root)
+            return root;
+
+        int rootStatus = status(root);
+        int otherStatus = status(other);
+        int rootRank = rootStatus >>> RANK_SHIFT;
+        int otherRank = otherStatus >>> RANK_SHIFT;
+        if (rootRank < otherRank) {
+            long temp = root;
+            root = other;
+            other = temp;
+        }
+        setParent(other, root);
+
+        int rank = Math.max(rootRank, otherRank) + (rootRank == otherRank ? 1 : 0);
+        int flags = (rootStatus | otherStatus) & FLAGS;
+        status[segment(root)].put(offset(root), (byte) (rank << RANK_SHIFT | flags));
+        return root;
+    }
+
+    /**
+     * Find the root of a site, halving the path on the way up
+     *
+     * @param site Index of the site
+     * @return Root of the site's component
+     */
+    private long find(long site) {
+        while (true) {
+            long up = parent(site);
+            if (up == site)
+                return site;
+            long grandparent = parent(up);
+            if (grandparent != up)
+                setParent(site, grandparent);
+            site = grandparent;
+        }
+    }
+
+    private long parent(long site) {
+        long position = site << 3;
+        long stored = parent[segment(position)].getLong(offset(position));
+        return stored == 0 ? site : stored - 1;
+    }
+
+    private void setParent(long site, long root) {
+        long position = site << 3;
+        parent[segment(position)].putLong(offset(position), root + 1);
+    }
+
+    private int status(long site) {
+        return status[segment(site)].get(offset(site)) & 0xff;
+    }
+
+    private static int segment(long position) {
+        return (int) (position >>> SEGMENT_BITS);
+    }
+
+    private static int offset(long position) {
+        return (int) (position & SEGMENT_MASK);
+    }
+
+    /**
+     * Given a site's row and column indices, calculate its UF Coordinate
+     *
+     * @param row Row index of site needed to be converted
+     * @param col Col index of site needed to be converted
+     * @return Site's UF Coordinate, between 0 and n * n - 1
+     */
+    private long gridToUfCoordinate(int row, int col) {
+        return (long) (row - 1) * size + col - 1;
+    }
+
+    /**
+     * Given a site's UF Coordinate, check its bit in openSites. No bounds check is done here.
+     *
+     * @param site UF Coordinate of the site
+     * @return True if the site is open. False otherwise.
+     */
+    private boolean isOpenSite(long site) {
+        long word = (site >>> 6) << 3;
+        return (openSites[segment(word)].getLong(offset(word)) & (1L << site)) != 0;
+    }
+
+    /**
+     * Given a site's row and column, check to see if that site is open
+     *
+     * @param row Row index of site needed to be checked if open
+     * @param col Col index of site needed to be checked if open
+     * @return True if the site is open. False otherwise.
+     */
+    public boolean isOpen(int row, int col) {
+        if (0 >= row || row > size || 0 >= col || col > size)
+            throw new IllegalArgumentException(
+                    "MappedPercolation.isOpen(): Argument(s) is out of bounds");
+        return isOpenSite(gridToUfCoordinate(row, col));
+    }
+
+    /**
+     * Given a site's row and column, check to see if that site is open and is connected to the top
+     * row
+     *
+     * @param row Row index of site needed to be checked for fullness
+     * @param col Col index of site needed to be checked for fullness
+     * @return True if the site is Full. False otherwise.
+     */
+    public boolean isFull(int row, int col) {
+        if (0 >= row || row > size || 0 >= col || col > size)
+            throw new IllegalArgumentException(
+                    "MappedPercolation.isFull(): Argument(s) is out of bounds");
+        long site = gridToUfCoordinate(row, col);
+        return isOpenSite(site) && (status(find(site)) & CONNECTED_TO_TOP) != 0;
+    }
+
+    /**
+     * @return Number of open sites in the grid
+     */
+    public long numberOfOpenSites() {
+        return numberOfOpenSites;
+    }
+
+    /**
+     * Check to see if the system percolates
+     *
+     * @return True if top and bottom are connected. False otherwise.
+     */
+    public boolean percolates() {
+        return percolates;
+    }
+
+    /**
+     * Test client
+     */
+    public static void main(String[] args) {
+        Path directory = Paths.get(System.getProperty("java.io.tmpdir"));
+        MappedPercolation p = new MappedPercolation(2, directory);
+        System.out.println(p.isOpen(1, 1));
+        System.out.println(p.percolates());
+
+        p.open(1, 1);
+        System.out.println("percolates1: " + p.percolates());
+        System.out.println("full2: " + p.isFull(1, 1));
+        System.out.println("full3: " + p.isFull(2, 1));
+
+        p.open(2, 1);
+        System.out.println("percolates2: " + p.percolates());
+        System.out.println("full4: " + p.isFull(2, 1));
+        System.out.println(p.numberOfOpenSites());
+    }
+}
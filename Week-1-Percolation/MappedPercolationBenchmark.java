@@ -0,0 +1,81 @@
+import edu.princeton.cs.algs4.Stopwatch;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.SplittableRandom;
+
+/**
+ * Benchmark client for MappedPercolation. Opens random sites of an n x n grid until it percolates
+ * and reports, every REPORT_EVERY opens, the throughput and the page faults the JVM took so far.
+ *
+ * What to expect: the open-site bitset is small (n * n / 8 bytes) and mostly stays resident, but
+ * every open() also reads and writes the parent and status entries of the site, of its up to
+ * four neighbors and of the roots they lead to. Left/right neighbors share a page with the site,
+ * while up/down neighbors are 8 * n bytes away in the parent file and usually on another page.
+ * Sites are opened in random order, so over a run every page of the 9 * n * n bytes of files is
+ * touched. The first touch of a page is a minor fault, served by zeroing a fresh page. As long as
+ * the files fit in free RAM, the page cache keeps them and throughput stays close to the heap
+ * version. Once they do not (n = 100,000 needs about 90 GB), the OS writes dirty pages back and
+ * reads them again later, each of those being a major fault costing a disk read. Throughput then
+ * drops to what the disk can serve in random 4 KB reads, a few microseconds per open on NVMe and
+ * far more on spinning disks, and the major fault count grows roughly with the number of opens.
+ * Most finds stay short thanks to union by rank and path halving, so the cost per open is a
+ * handful of page touches rather than a long walk.
+ */
+public class MappedPercolationBenchmark {
+
+    private static final int REPORT_EVERY = 10_000_000;
+
+    /**
+     * Read the minor and major page fault counts of this process from /proc/self/stat. Only
+     * available on Linux.
+     *
+     * @return {minor faults, major faults}, or null if /proc is not available
+     */
+    private static long[] pageFaults() {
+        try {
+            String stat = new String(Files.readAllBytes(Paths.get("/proc/self/stat")));
+            String[] fields = stat.substring(stat.lastIndexOf(')') + 2).split(" ");
+            return new long[] {Long.parseLong(fields[7]), Long.parseLong(fields[9])};
+        } catch (IOException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    private static void report(long opens, Stopwatch stopwatch) {
+        long[] faults = pageFaults();
+        double seconds = stopwatch.elapsedTime();
+        System.out.printf("%,14d opens  %8.1f s  %8.2f M opens/s", opens, seconds,
+                          opens / seconds / 1e6);
+        if (faults != null)
+            System.out.printf("  minor faults %,d  major faults %,d", faults[0], faults[1]);
+        System.out.println();
+    }
+
+    /**
+     * Benchmark client
+     *
+     * @param args Grid size (default 10000) and directory for the backing files (default the
+     *             temporary directory)
+     */
+    public static void main(String[] args) {
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : 10000;
+        Path directory = Paths.get(args.length > 1 ? args[1]
+                                                   : System.getProperty("java.io.tmpdir"));
+
+        System.out.println("n = " + n + ", files in " + directory);
+        Stopwatch stopwatch = new Stopwatch();
+        MappedPercolation p = new MappedPercolation(n, directory);
+        SplittableRandom random = new SplittableRandom();
+        long attempts = 0;
+        while (!p.percolates()) {
+            p.open(random.nextInt(n) + 1, random.nextInt(n) + 1);
+            if (++attempts % REPORT_EVERY == 0)
+                report(p.numberOfOpenSites(), stopwatch);
+        }
+        report(p.numberOfOpenSites(), stopwatch);
+        System.out.println("threshold = " + (double) p.numberOfOpenSites() / n / n);
+    }
+}
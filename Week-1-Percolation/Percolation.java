@@ -1,18 +1,21 @@
-import edu.princeton.cs.algs4.WeightedQuickUnionUF;
-
 public class Percolation {
 
-    private final WeightedQuickUnionUF uf1;
-    private final WeightedQuickUnionUF uf2;
-    private final boolean[][] grid;
+    private static final byte CONNECTED_TO_TOP = 1;
+    private static final byte CONNECTED_TO_BOTTOM = 2;
+
+    private final UnionFind uf;
+    private final byte[] rootStatus;
+    private final long[] openSites;
     private final int size;
 
     private int numberOfOpenSites;
+    private boolean percolates;
 
     /**
-     * Initialize a boolean grid n x n. Initialize 2 Union-Find uf1 and uf2. Connect every uf1 top
-     * sites to each other. Connect every uf2 top sites to each other. Connect every uf1 bottom
-     * sites to each other. Set numberOfOpenSites to 0 and size to n.
+     * Initialize a bitset of n x n open flags and a single Union-Find uf with one element per
+     * site. There are no virtual top and bottom sites: instead, every root of uf carries a status
+     * flag telling whether its component touches the top row, the bottom row, or both. This avoids
+     * the backwash problem without a second Union-Find. Set numberOfOpenSites to 0 and size to n.
      *
      * @param n Size of the grid
      * @throws IllegalArgumentException if n is less than or equals to 0
@@ -22,18 +25,11 @@ public class Percolation {
             throw new IllegalArgumentException(
                     "Percolation.Percolation(): Argument cannot be 0 or less!");
 
-        uf1 = new WeightedQuickUnionUF(n * n + 2);
-        uf2 = new WeightedQuickUnionUF(n * n + 2);
-        for (int i = 1; i <= n; i++) {
-            uf1.union(0, i);
-            uf2.union(0, i);
-        }
-
-        for (int i = 1; i <= n; i++)
-            uf1.union(n * (n - 1) + i, n * n + 1);
-
-        grid = new boolean[n][n];
+        uf = new UnionFind(n * n);
+        rootStatus = new byte[n * n];
+        openSites = new long[(n * n + 63) >>> 6];
         numberOfOpenSites = 0;
+        percolates = false;
         size = n;
     }
 
@@ -49,34 +45,47 @@ public class Percolation {
         if (row > size || col > size || row <= 0 || col <= 0)
             throw new IllegalArgumentException("Percolation.open(): Argument(s) out of bounds!");
 
-        if (!isOpen(row, col)) {
-            if (col < size && isOpen(row, col + 1))
-                unionSiteWithNeighbor(row, 0, col, 1);
-            if (col > 1 && isOpen(row, col - 1))
-                unionSiteWithNeighbor(row, 0, col, -1);
-            if (row < size && isOpen(row + 1, col))
-                unionSiteWithNeighbor(row, 1, col, 0);
-            if (row > 1 && isOpen(row - 1, col))
-                unionSiteWithNeighbor(row, -1, col, 0);
-
-            grid[row - 1][col - 1] = true;
+        int site = gridToUfCoordinate(row, col);
+        if (!isOpenSite(site)) {
+            byte status = 0;
+            if (row == 1)
+                status |= CONNECTED_TO_TOP;
+            if (row == size)
+                status |= CONNECTED_TO_BOTTOM;
+            rootStatus[site] = status;
+
+            if (col < size && isOpenSite(site + 1))
+                unionSiteWithNeighbor(site, site + 1);
+            if (col > 1 && isOpenSite(site - 1))
+                unionSiteWithNeighbor(site, site - 1);
+            if (row < size && isOpenSite(site + size))
+                unionSiteWithNeighbor(site, site + size);
+            if (row > 1 && isOpenSite(site - size))
+                unionSiteWithNeighbor(site, site - size);
+
+            if (rootStatus[uf.find(site)] == (CONNECTED_TO_TOP | CONNECTED_TO_BOTTOM))
+                percolates = true;
+
+            openSites[site >>> 6] |= 1L << site;
             numberOfOpenSites++;
         }
     }
 
     /**
-     * Given a site's row and column indices and its neighbor, connect the site with its neighbor
+     * Connect a site with its open neighbor. The status flags of both components are merged and
+     * stored on the root of the resulting component.
      *
-     * @param row Row index of site needed to be opened
-     * @param i   Row difference between the site and its neighbor
-     * @param col Col index of site needed to be opened
-     * @param j   Column diffirence between the site and its neighbor
+     * @param site     UF Coordinate of the site being opened
+     * @param neighbor UF Coordinate of its open neighbor
      */
-    private void unionSiteWithNeighbor(int row, int i, int col, int j) {
-        uf1.union(gridToUfCoordinate(row, col),
-                gridToUfCoordinate(row + i, col + j));
-        uf2.union(gridToUfCoordinate(row, col),
-                gridToUfCoordinate(row + i, col + j));
+    private void unionSiteWithNeighbor(int site, int neighbor) {
+        int siteRoot = uf.find(site);
+        int neighborRoot = uf.find(neighbor);
+        if (siteRoot == neighborRoot)
+            return;
+
+        rootStatus[uf.union(siteRoot, neighborRoot)] =
+                (byte) (rootStatus[siteRoot] | rootStatus[neighborRoot]);
     }
 
     /**
@@ -84,10 +93,10 @@ public class Percolation {
      *
      * @param row Row index of site needed to be converted
      * @param col Col index of site needed to be converted
-     * @return Site's UF Coordinate
+     * @return Site's UF Coordinate, between 0 and n * n - 1
      */
     private int gridToUfCoordinate(int row, int col) {
-        return (row - 1) * size + col;
+        return (row - 1) * size + col - 1;
     }
 
     /**
@@ -101,7 +110,18 @@ public class Percolation {
         if (0 >= row || row > size || 0 >= col || col > size)
             throw new IllegalArgumentException(
                     "Percolation.isOpen(): Argument(s) is out of bounds");
-        return grid[row - 1][col - 1];
+        return isOpenSite(gridToUfCoordinate(row, col));
+    }
+
+    /**
+     * Given a site's UF Coordinate, check its bit in openSites. No bounds check is done here, so
+     * the caller is responsible for passing a valid coordinate.
+     *
+     * @param site UF Coordinate of the site needed to be checked if open
+     * @return True if the site is open. False otherwise.
+     */
+    private boolean isOpenSite(int site) {
+        return (openSites[site >>> 6] & (1L << site)) != 0;
     }
 
     /**
@@ -116,7 +136,8 @@ public class Percolation {
         if (0 >= row || row > size || 0 >= col || col > size)
             throw new IllegalArgumentException(
                     "Percolation.isFull(): Argument(s) is out of bounds");
-        return isOpen(row, col) && uf2.connected(0, gridToUfCoordinate(row, col));
+        int site = gridToUfCoordinate(row, col);
+        return isOpenSite(site) && (rootStatus[uf.find(site)] & CONNECTED_TO_TOP) != 0;
     }
 
     /**
@@ -127,16 +148,13 @@ public class Percolation {
     }
 
     /**
-     * Check to see if the site percolates. If the grid size is 1 x 1, only need to check if site
-     * (1, 1) is open or not. Otherwise, check to see if the top row and bottom row are connected to
-     * each other or not.
+     * Check to see if the system percolates. The flag is raised by open() as soon as a component
+     * touches both the top and the bottom row, so this does not query the Union-Find at all.
      *
      * @return True if top and bottom are connected. False otherwise.
      */
     public boolean percolates() {
-        if (size == 1)
-            return isOpen(1, 1);
-        return uf1.connected(0, size * size + 1);
+        return percolates;
     }
 
     /**
@@ -144,7 +162,7 @@ public class Percolation {
      */
     public static void main(String[] args) {
         Percolation p = new Percolation(2);
-        System.out.println(p.grid[0][0]);
+        System.out.println(p.isOpen(1, 1));
         System.out.println(p.percolates());
 
         System.out.println("full: " + p.isFull(1, 1));
@@ -0,0 +1,57 @@
+import edu.princeton.cs.algs4.StdRandom;
+
+/**
+ * Benchmark client for Percolation and PercolationStats. For every grid size n given as argument
+ * (100, 200, 400 and 800 by default) it reports the time per open() while opening the sites of a
+ * grid in random order until it percolates, calling percolates() after every open as
+ * PercolationStats does, and the time of a PercolationStats run of TRIALS trials for every
+ * OpeningStrategy.
+ *
+ * Every measurement is repeated WARMUP_ROUNDS times to let the JIT compile the code, then timed
+ * over MEASURED_ROUNDS rounds and averaged. Running the sizes one after another gives the scaling
+ * curve; comparing the output of two builds catches regressions.
+ */
+public class PercolationBenchmark {
+
+    private static final int WARMUP_ROUNDS = 3;
+    private static final int MEASURED_ROUNDS = 5;
+    private static final int TRIALS = 20;
+
+    private static final Benchmark BENCHMARK = new Benchmark(WARMUP_ROUNDS, MEASURED_ROUNDS);
+
+    private static long openUntilPercolates(int n, int[] order) {
+        Percolation p = new Percolation(n);
+        for (int i = 0; !p.percolates(); i++)
+            p.open(order[i] / n + 1, order[i] % n + 1);
+        return p.numberOfOpenSites();
+    }
+
+    /**
+     * Benchmark client
+     *
+     * @param args Grid sizes
+     */
+    public static void main(String[] args) {
+        int[] sizes = {100, 200, 400, 800};
+        if (args.length > 0) {
+            sizes = new int[args.length];
+            for (int i = 0; i < args.length; i++)
+                sizes[i] = Integer.parseInt(args[i]);
+        }
+
+        for (int n : sizes) {
+            int[] order = StdRandom.permutation(n * n);
+            long opens = openUntilPercolates(n, order);
+            double nanos = BENCHMARK.time(() -> openUntilPercolates(n, order));
+            System.out.printf("n = %5d  open + percolates    %8.1f ns/open%n", n, nanos / opens);
+
+            for (PercolationStats.OpeningStrategy strategy
+                    : PercolationStats.OpeningStrategy.values()) {
+                nanos = BENCHMARK.time(() -> Double.doubleToLongBits(
+                        new PercolationStats(n, TRIALS, 1, 42L, strategy).mean()));
+                System.out.printf("n = %5d  stats %-13s %8.2f ms/run of %d trials%n", n, strategy,
+                                  nanos / 1e6, TRIALS);
+            }
+        }
+    }
+}
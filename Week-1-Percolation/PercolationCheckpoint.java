@@ -0,0 +1,95 @@
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+public class PercolationCheckpoint {
+
+    private static final int MAGIC = 0x50455243;
+    private static final int VERSION = 1;
+
+    private PercolationCheckpoint() {
+    }
+
+    /**
+     * Write the progress of a PercolationStats run to file. Trial i only depends on the master
+     * seed and i, so the state of every random stream still to be used is the seed plus the
+     * number of trials done, and the completed results are fully summed up by their RunningStats.
+     * The file is a fixed 49 bytes: a magic number and a version, the parameters of the run (n,
+     * trials, strategy, seed) and the accumulator. It is written to a temporary file next to the
+     * target and moved over it, so a crash while saving leaves the previous checkpoint intact.
+     *
+     * @param file     Checkpoint file
+     * @param n        Size of the grid
+     * @param trials   Total number of trials of the run
+     * @param seed     Master seed of the run
+     * @param strategy Opening strategy of the run
+     * @param stats    Statistics of the trials done so far, which are trials 0 to count - 1
+     * @throws UncheckedIOException if the file cannot be written
+     */
+    public static void save(Path file, int n, int trials, long seed,
+                            PercolationStats.OpeningStrategy strategy, RunningStats stats) {
+        Path directory = file.toAbsolutePath().getParent();
+        try {
+            Path temp = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+            try (DataOutputStream out = new DataOutputStream(
+                    new BufferedOutputStream(Files.newOutputStream(temp)))) {
+                out.writeInt(MAGIC);
+                out.writeByte(VERSION);
+                out.writeInt(n);
+                out.writeInt(trials);
+                out.writeInt(strategy.ordinal());
+                out.writeLong(seed);
+                stats.writeTo(out);
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING,
+                       StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException(
+                    "PercolationCheckpoint.save(): Cannot write " + file + "!", e);
+        }
+    }
+
+    /**
+     * Read the statistics of the completed trials back from a checkpoint file, checking that it
+     * was written by a run with the same parameters. If the file does not exist, the run starts
+     * from scratch.
+     *
+     * @param file     Checkpoint file
+     * @param n        Size of the grid
+     * @param trials   Total number of trials of the run
+     * @param seed     Master seed of the run
+     * @param strategy Opening strategy of the run
+     * @return Statistics of the trials completed so far, empty if there is no checkpoint yet
+     * @throws IllegalArgumentException if the file belongs to a run with other parameters
+     * @throws UncheckedIOException     if the file cannot be read or is not a checkpoint
+     */
+    public static RunningStats load(Path file, int n, int trials, long seed,
+                                    PercolationStats.OpeningStrategy strategy) {
+        if (!Files.exists(file))
+            return new RunningStats();
+
+        try (DataInputStream in = new DataInputStream(
+                new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != MAGIC || in.readByte() != VERSION)
+                throw new IOException("Not a checkpoint file");
+            if (in.readInt() != n || in.readInt() != trials || in.readInt() != strategy.ordinal()
+                    || in.readLong() != seed)
+                throw new IllegalArgumentException(
+                        "PercolationCheckpoint.load(): " + file + " belongs to another run!");
+
+            RunningStats stats = RunningStats.readFrom(in);
+            if (stats.count() > trials)
+                throw new IOException("More trials done than planned");
+            return stats;
+        } catch (IOException e) {
+            throw new UncheckedIOException(
+                    "PercolationCheckpoint.load(): Cannot read " + file + "!", e);
+        }
+    }
+}
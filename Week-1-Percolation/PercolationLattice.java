@@ -0,0 +1,303 @@
+public class PercolationLattice {
+
+    private static final byte CONNECTED_TO_TOP = 1;
+    private static final byte CONNECTED_TO_BOTTOM = 2;
+
+    private final UnionFind uf;
+    private final byte[] rootStatus;
+    private final long[] openSites;
+    private final int size;
+    private final int dimensions;
+    private final int[] strides;
+    private final int[][] offsets;
+    private final int[] coordinates;
+
+    private int numberOfOpenSites;
+    private boolean percolates;
+
+    /**
+     * Which sites count as neighbors of a site.
+     */
+    public enum Neighborhood {
+        /**
+         * Sites sharing a face: one step along a single axis, 2 * d neighbors. In 2D this is the
+         * 4-neighborhood of Percolation.
+         */
+        FACE,
+        /**
+         * Sites sharing a face, an edge or a corner: at most one step along every axis,
+         * 3^d - 1 neighbors.
+         */
+        FULL
+    }
+
+    /**
+     * Initialize a d-dimensional cubic lattice with n sites along every axis, all blocked. Sites
+     * are stored in a flat layout where axis 0 varies slowest, so every layer orthogonal to axis 0
+     * is contiguous. Axis 0 is the direction of percolation: the top is the layer with coordinate
+     * 1 along it and the bottom is the layer with coordinate n. As in Percolation, there is a
+     * single Union-Find over the sites and every root carries flags telling whether its component
+     * touches the top and/or the bottom, and the open sites are kept in a long[] bitset.
+     *
+     * @param n            Number of sites along every axis
+     * @param dimensions   Number of axes
+     * @param neighborhood Which sites are neighbors of a site
+     * @throws IllegalArgumentException if n or dimensions is less than or equals to 0, if
+     *                                  neighborhood is null, or if the lattice has more sites or a
+     *                                  site more neighbors than an int can index
+     */
+    public PercolationLattice(int n, int dimensions, Neighborhood neighborhood) {
+        if (n <= 0 || dimensions <= 0 || neighborhood == null)
+            throw new IllegalArgumentException(
+                    "PercolationLattice.PercolationLattice(): Argument(s) out of bounds!");
+
+        strides = new int[dimensions];
+        long sites = 1;
+        for (int axis = dimensions - 1; axis >= 0; axis--) {
+            strides[axis] = (int) sites;
+            sites *= n;
+            if (sites > Integer.MAX_VALUE)
+                throw new IllegalArgumentException(
+                        "PercolationLattice.PercolationLattice(): Lattice has too many sites!");
+        }
+
+        size = n;
+        this.dimensions = dimensions;
+        offsets = neighborOffsets(dimensions, neighborhood);
+        coordinates = new int[dimensions];
+        uf = new UnionFind((int) sites);
+        rootStatus = new byte[(int) sites];
+        openSites = new long[(int) ((sites + 63) >>> 6)];
+        numberOfOpenSites = 0;
+        percolates = false;
+    }
+
+    /**
+     * List the neighbors of a site as offset vectors, one step of -1, 0 or 1 along every axis.
+     * FACE keeps the vectors with exactly one non-zero step, FULL keeps every vector but the zero
+     * one.
+     *
+     * @param dimensions   Number of axes
+     * @param neighborhood Which sites are neighbors of a site
+     * @return Offset vectors of the neighbors
+     * @throws IllegalArgumentException if there are more neighbors than an int can count, e.g.
+     *                                  FULL with 20 axes or more
+     */
+    private static int[][] neighborOffsets(int dimensions, Neighborhood neighborhood) {
+        if (neighborhood == Neighborhood.FACE) {
+            int[][] offsets = new int[2 * dimensions][dimensions];
+            for (int axis = 0; axis < dimensions; axis++) {
+                offsets[2 * axis][axis] = 1;
+                offsets[2 * axis + 1][axis] = -1;
+            }
+            return offsets;
+        }
+
+        int count = 1;
+        try {
+            for (int axis = 0; axis < dimensions; axis++)
+                count = Math.multiplyExact(count, 3);
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException(
+                    "PercolationLattice.PercolationLattice(): Too many neighbors per site!", e);
+        }
+        int[][] offsets = new int[count - 1][];
+        int k = 0;
+        for (int code = 0; code < count; code++) {
+            int[] offset = new int[dimensions];
+            boolean zero = true;
+            for (int axis = 0, rest = code; axis < dimensions; axis++, rest /= 3) {
+                offset[axis] = rest % 3 - 1;
+                zero &= offset[axis] == 0;
+            }
+            if (!zero)
+                offsets[k++] = offset;
+        }
+        return offsets;
+    }
+
+    /**
+     * Given a site's coordinates, open it if it has not been opened and connect it to its open
+     * neighbors.
+     *
+     * @param coordinates Coordinates of the site, each between 1 and n
+     * @throws IllegalArgumentException if the number of coordinates is not the number of axes or
+     *                                  any coordinate is out of bounds
+     */
+    public void open(int... coordinates) {
+        openSite(site(coordinates, "open"));
+    }
+
+    /**
+     * Given a site's flat index, open it if it has not been opened, connect it to its open
+     * neighbors and increment numberOfOpenSites by 1. Drivers that pick sites by index, like
+     * PercolationStats, use this to skip the coordinate conversion.
+     *
+     * @param site Flat index of the site, between 0 and sites() - 1
+     * @throws IllegalArgumentException if site is out of bounds
+     */
+    public void openSite(int site) {
+        if (site < 0 || site >= rootStatus.length)
+            throw new IllegalArgumentException(
+                    "PercolationLattice.openSite(): Argument out of bounds!");
+        if (isOpenSite(site))
+            return;
+
+        int rest = site;
+        for (int axis = 0; axis < dimensions; axis++) {
+            coordinates[axis] = rest / strides[axis];
+            rest -= coordinates[axis] * strides[axis];
+        }
+
+        byte status = 0;
+        if (coordinates[0] == 0)
+            status |= CONNECTED_TO_TOP;
+        if (coordinates[0] == size - 1)
+            status |= CONNECTED_TO_BOTTOM;
+        rootStatus[site] = status;
+
+        for (int[] offset : offsets) {
+            int neighbor = site;
+            boolean inside = true;
+            for (int axis = 0; axis < dimensions && inside; axis++) {
+                int coordinate = coordinates[axis] + offset[axis];
+                inside = coordinate >= 0 && coordinate < size;
+                neighbor += offset[axis] * strides[axis];
+            }
+            if (inside && isOpenSite(neighbor))
+                unionSiteWithNeighbor(site, neighbor);
+        }
+
+        if (rootStatus[uf.find(site)] == (CONNECTED_TO_TOP | CONNECTED_TO_BOTTOM))
+            percolates = true;
+
+        openSites[site >>> 6] |= 1L << site;
+        numberOfOpenSites++;
+    }
+
+    /**
+     * Connect a site with its open neighbor, merging the status flags of both components onto the
+     * root of the resulting component.
+     *
+     * @param site     Flat index of the site being opened
+     * @param neighbor Flat index of its open neighbor
+     */
+    private void unionSiteWithNeighbor(int site, int neighbor) {
+        int siteRoot = uf.find(site);
+        int neighborRoot = uf.find(neighbor);
+        if (siteRoot == neighborRoot)
+            return;
+
+        rootStatus[uf.union(siteRoot, neighborRoot)] =
+                (byte) (rootStatus[siteRoot] | rootStatus[neighborRoot]);
+    }
+
+    /**
+     * Given a site's coordinates, calculate its flat index
+     *
+     * @param coordinates Coordinates of the site, each between 1 and n
+     * @param method      Name of the calling method, for the exception message
+     * @return Flat index of the site
+     * @throws IllegalArgumentException if the number of coordinates is not the number of axes or
+     *                                  any coordinate is out of bounds
+     */
+    private int site(int[] coordinates, String method) {
+        if (coordinates == null || coordinates.length != dimensions)
+            throw new IllegalArgumentException(
+                    "PercolationLattice." + method + "(): Wrong number of coordinates!");
+
+        int site = 0;
+        for (int axis = 0; axis < dimensions; axis++) {
+            if (coordinates[axis] <= 0 || coordinates[axis] > size)
+                throw new IllegalArgumentException(
+                        "PercolationLattice." + method + "(): Argument(s) out of bounds!");
+            site += (coordinates[axis] - 1) * strides[axis];
+        }
+        return site;
+    }
+
+    /**
+     * Given a site's coordinates, check to see if that site is open
+     *
+     * @param coordinates Coordinates of the site, each between 1 and n
+     * @return True if the site is open. False otherwise.
+     */
+    public boolean isOpen(int... coordinates) {
+        return isOpenSite(site(coordinates, "isOpen"));
+    }
+
+    /**
+     * Given a site's flat index, check its bit in openSites. No bounds check is done here.
+     *
+     * @param site Flat index of the site
+     * @return True if the site is open. False otherwise.
+     */
+    private boolean isOpenSite(int site) {
+        return (openSites[site >>> 6] & (1L << site)) != 0;
+    }
+
+    /**
+     * Given a site's coordinates, check to see if that site is open and connected to the top
+     *
+     * @param coordinates Coordinates of the site, each between 1 and n
+     * @return True if the site is Full. False otherwise.
+     */
+    public boolean isFull(int... coordinates) {
+        int site = site(coordinates, "isFull");
+        return isOpenSite(site) && (rootStatus[uf.find(site)] & CONNECTED_TO_TOP) != 0;
+    }
+
+    /**
+     * @return Number of sites in the lattice, n to the power of the number of axes
+     */
+    public int sites() {
+        return rootStatus.length;
+    }
+
+    /**
+     * @return Number of open sites in the lattice
+     */
+    public int numberOfOpenSites() {
+        return numberOfOpenSites;
+    }
+
+    /**
+     * Check to see if the system percolates along axis 0
+     *
+     * @return True if top and bottom are connected. False otherwise.
+     */
+    public boolean percolates() {
+        return percolates;
+    }
+
+    /**
+     * Test client
+     */
+    public static void main(String[] args) {
+        PercolationLattice lattice = new PercolationLattice(3, 3, Neighborhood.FACE);
+        lattice.open(1, 1, 1);
+        lattice.open(2, 1, 1);
+        System.out.println("percolates1: " + lattice.percolates());
+        System.out.println("full1: " + lattice.isFull(2, 1, 1));
+
+        lattice.open(3, 2, 2);
+        System.out.println("percolates2: " + lattice.percolates());
+        System.out.println("full2: " + lattice.isFull(3, 2, 2));
+
+        lattice.open(3, 1, 1);
+        System.out.println("percolates3: " + lattice.percolates());
+        System.out.println("full3: " + lattice.isFull(3, 2, 2));
+
+        PercolationLattice diagonal = new PercolationLattice(2, 3, Neighborhood.FULL);
+        diagonal.open(1, 1, 1);
+        diagonal.open(2, 2, 2);
+        System.out.println("diagonal percolates: " + diagonal.percolates());
+        System.out.println(diagonal.numberOfOpenSites());
+
+        try {
+            new PercolationLattice(1, 20, Neighborhood.FULL);
+        } catch (IllegalArgumentException e) {
+            System.out.println(e.getMessage());
+        }
+    }
+}
@@ -5,15 +5,28 @@
  **************************************************************************** */
 
 import edu.princeton.cs.algs4.StdRandom;
-import edu.princeton.cs.algs4.StdStats;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public class PercolationStats {
 
-    private static final double ZSTAR = 1.96;
-    private final double[] trialStats;
+    private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+    private static final int MIN_ADAPTIVE_TRIALS = 10;
+    private final RunningStats stats;
     private final int gridSize;
-    private final double mean;
-    private final double stddev;
+    private final int dimensions;
+    private final PercolationLattice.Neighborhood neighborhood;
+    private final long seed;
+    private final OpeningStrategy strategy;
 
     /**
      * Perform independent trials on an n-by-n grid. After performing all trials, calculating the
@@ -24,51 +37,515 @@ public class PercolationStats {
      * @throws IllegalArgumentException if either n or trials is less than or equal to 0
      */
     public PercolationStats(int n, int trials) {
-        if (n <= 0 || trials <= 0)
+        this(n, trials, 1);
+    }
+
+    /**
+     * Perform independent trials on an n-by-n grid, spreading them over a pool of parallelism
+     * worker threads. Every trial builds its own Percolation and draws from its own random stream,
+     * derived from a master seed taken from StdRandom, so the trials stay independent and the
+     * statistics have the same meaning as in the sequential case. With a parallelism of 1, all
+     * trials run on the calling thread.
+     *
+     * @param n           Size of the grid
+     * @param trials      Number of trials needed to be performed on the grid size n
+     * @param parallelism Number of worker threads running the trials
+     * @throws IllegalArgumentException if either n, trials or parallelism is less than or equal
+     *                                  to 0
+     */
+    public PercolationStats(int n, int trials, int parallelism) {
+        this(n, trials, parallelism, StdRandom.uniform(Long.MAX_VALUE));
+    }
+
+    /**
+     * Perform independent trials on an n-by-n grid from a master seed. Trial i draws from its own
+     * random stream derived from the seed and i only, so every trial opens the same sites in the
+     * same order no matter how many worker threads run them or in which order they finish. Use
+     * openSitesInTrial() to rerun a single trial of a seeded run.
+     *
+     * @param n           Size of the grid
+     * @param trials      Number of trials needed to be performed on the grid size n
+     * @param parallelism Number of worker threads running the trials
+     * @param seed        Master seed every trial's random stream is derived from
+     * @throws IllegalArgumentException if either n, trials or parallelism is less than or equal
+     *                                  to 0
+     */
+    public PercolationStats(int n, int trials, int parallelism, long seed) {
+        this(n, trials, parallelism, seed, OpeningStrategy.REJECTION);
+    }
+
+    /**
+     * Perform independent trials on an n-by-n grid from a master seed, picking the sites to open
+     * with the given strategy.
+     *
+     * @param n           Size of the grid
+     * @param trials      Number of trials needed to be performed on the grid size n
+     * @param parallelism Number of worker threads running the trials
+     * @param seed        Master seed every trial's random stream is derived from
+     * @param strategy    How every trial picks the next site to open
+     * @throws IllegalArgumentException if either n, trials or parallelism is less than or equal
+     *                                  to 0, or if strategy is null
+     */
+    public PercolationStats(int n, int trials, int parallelism, long seed,
+                            OpeningStrategy strategy) {
+        if (n <= 0 || trials <= 0 || parallelism <= 0 || strategy == null)
             throw new IllegalArgumentException(
                     "PercolationStats.PercolationStats(): Argument(s) cannot be 0 or smaller");
 
         gridSize = n;
-        trialStats = new double[trials];
-        for (int i = 0; i < trials; i++)
-            runTrial(i);
+        dimensions = 2;
+        neighborhood = null;
+        this.seed = seed;
+        this.strategy = strategy;
+        stats = new RunningStats();
+        runTrials(trials, parallelism);
+    }
+
+    /**
+     * Perform independent trials on an n-by-n grid, saving the progress to a checkpoint file
+     * every checkpointEvery trials. If the file already exists, it must come from a run with the
+     * same n, trials, seed and strategy, and the run resumes after the trials it records instead
+     * of running them again. Since trial i only depends on the seed and i, a resumed run gives
+     * the same results as an uninterrupted one.
+     *
+     * @param n               Size of the grid
+     * @param trials          Number of trials needed to be performed on the grid size n
+     * @param parallelism     Number of worker threads running the trials
+     * @param seed            Master seed every trial's random stream is derived from
+     * @param strategy        How every trial picks the next site to open
+     * @param checkpoint      Checkpoint file, read on start if it exists and written as trials
+     *                        complete
+     * @param checkpointEvery Number of trials between two checkpoints
+     * @throws IllegalArgumentException if either n, trials, parallelism or checkpointEvery is
+     *                                  less than or equal to 0, if strategy or checkpoint is null,
+     *                                  or if the checkpoint belongs to another run
+     * @throws java.io.UncheckedIOException if the checkpoint cannot be read or written
+     */
+    public PercolationStats(int n, int trials, int parallelism, long seed,
+                            OpeningStrategy strategy, Path checkpoint, int checkpointEvery) {
+        if (n <= 0 || trials <= 0 || parallelism <= 0 || strategy == null || checkpoint == null
+                || checkpointEvery <= 0)
+            throw new IllegalArgumentException(
+                    "PercolationStats.PercolationStats(): Argument(s) out of bounds!");
+
+        gridSize = n;
+        dimensions = 2;
+        neighborhood = null;
+        this.seed = seed;
+        this.strategy = strategy;
+        stats = new RunningStats();
+        stats.merge(PercolationCheckpoint.load(checkpoint, n, trials, seed, strategy));
+        runTrials(trials, parallelism, checkpoint, checkpointEvery);
+    }
+
+    /**
+     * Perform independent trials on a d-dimensional cubic lattice with n sites along every axis,
+     * using PercolationLattice. Every trial opens the sites in the order of a random permutation
+     * until the lattice percolates along axis 0, and the statistics are over the fraction of
+     * sites opened, as for the n-by-n grid.
+     *
+     * @param n            Number of sites along every axis
+     * @param dimensions   Number of axes
+     * @param neighborhood Which sites are neighbors of a site
+     * @param trials       Number of trials needed to be performed on the lattice
+     * @param parallelism  Number of worker threads running the trials
+     * @param seed         Master seed every trial's random stream is derived from
+     * @throws IllegalArgumentException if either n, dimensions, trials or parallelism is less than
+     *                                  or equal to 0, or if neighborhood is null
+     */
+    public PercolationStats(int n, int dimensions, PercolationLattice.Neighborhood neighborhood,
+                            int trials, int parallelism, long seed) {
+        if (n <= 0 || dimensions <= 0 || neighborhood == null || trials <= 0 || parallelism <= 0)
+            throw new IllegalArgumentException(
+                    "PercolationStats.PercolationStats(): Argument(s) out of bounds!");
+
+        gridSize = n;
+        this.dimensions = dimensions;
+        this.neighborhood = neighborhood;
+        this.seed = seed;
+        strategy = OpeningStrategy.PERMUTATION;
+        stats = new RunningStats();
+        runTrials(trials, parallelism);
+    }
+
+    /**
+     * Perform independent trials on an n-by-n grid until the 95% confidence interval is no wider
+     * than maxWidth, or maxTrials trials have been run. Trials run sequentially on the calling
+     * thread.
+     *
+     * @param n         Size of the grid
+     * @param maxWidth  Width of the confidence interval at which to stop
+     * @param maxTrials Maximum number of trials to run
+     * @throws IllegalArgumentException if n is less than or equal to 0, maxWidth is not positive
+     *                                  or maxTrials is less than 2
+     */
+    public PercolationStats(int n, double maxWidth, int maxTrials) {
+        this(n, maxWidth, maxTrials, Long.MAX_VALUE, 1, StdRandom.uniform(Long.MAX_VALUE),
+             OpeningStrategy.REJECTION);
+    }
+
+    /**
+     * Perform independent trials on an n-by-n grid until the 95% confidence interval is no wider
+     * than maxWidth, maxTrials trials have been run or timeBudgetMillis milliseconds have passed.
+     * Trials run in batches: after a first batch of a few trials, the current standard deviation
+     * is used to estimate how many trials the interval still needs, and the next batch runs that
+     * many, but never more than the trials done so far, so a noisy early estimate cannot overshoot
+     * by much. Trial i is the same trial as in the fixed-count constructors with the same seed.
+     * When the time budget runs out, workers stop picking up new trials and the statistics cover
+     * the trials that completed.
+     *
+     * @param n                Size of the grid
+     * @param maxWidth         Width of the confidence interval at which to stop
+     * @param maxTrials        Maximum number of trials to run
+     * @param timeBudgetMillis Time after which no new trial is started, in milliseconds
+     * @param parallelism      Number of worker threads running the trials
+     * @param seed             Master seed every trial's random stream is derived from
+     * @param strategy         How every trial picks the next site to open
+     * @throws IllegalArgumentException if either n, timeBudgetMillis or parallelism is less than
+     *                                  or equal to 0, maxWidth is not positive, maxTrials is less
+     *                                  than 2, or if strategy is null
+     */
+    public PercolationStats(int n, double maxWidth, int maxTrials, long timeBudgetMillis,
+                            int parallelism, long seed, OpeningStrategy strategy) {
+        if (n <= 0 || !(maxWidth > 0) || maxTrials < 2 || timeBudgetMillis <= 0 || parallelism <= 0
+                || strategy == null)
+            throw new IllegalArgumentException(
+                    "PercolationStats.PercolationStats(): Argument(s) out of bounds!");
+
+        gridSize = n;
+        dimensions = 2;
+        neighborhood = null;
+        this.seed = seed;
+        this.strategy = strategy;
+        stats = new RunningStats();
+
+        long start = System.nanoTime();
+        long budget = TimeUnit.MILLISECONDS.toNanos(timeBudgetMillis);
+        ExecutorService executor = parallelism == 1
+                                   ? null : Executors.newFixedThreadPool(parallelism);
+        try {
+            int batch = Math.min(Math.max(MIN_ADAPTIVE_TRIALS, parallelism), maxTrials);
+            while (true) {
+                runTrials(executor, parallelism, trials() + batch, start, budget);
+                if (confidenceHi() - confidenceLo() <= maxWidth || trials() >= maxTrials
+                        || System.nanoTime() - start >= budget)
+                    break;
+
+                long needed = stats.samplesForWidth(maxWidth) - trials();
+                batch = (int) Math.min(Math.max(needed, parallelism),
+                                       Math.min(maxTrials - trials(), trials()));
+            }
+        } finally {
+            if (executor != null)
+                executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Run a fixed number of trials, on the calling thread or on a pool of at most parallelism
+     * worker threads.
+     *
+     * @param trials      Number of trials to run
+     * @param parallelism Number of worker threads
+     */
+    private void runTrials(int trials, int parallelism) {
+        runTrials(trials, parallelism, null, trials);
+    }
+
+    /**
+     * Run a fixed number of trials, starting after the ones already in stats. With a checkpoint
+     * file, the trials run in batches of checkpointEvery and the progress is saved after every
+     * batch. Every batch completes all of its trials, so what is saved always covers exactly
+     * trials 0 to trials() - 1.
+     *
+     * @param trials          Number of trials to run in total
+     * @param parallelism     Number of worker threads
+     * @param checkpoint      Checkpoint file, or null
+     * @param checkpointEvery Number of trials between two checkpoints
+     */
+    private void runTrials(int trials, int parallelism, Path checkpoint, int checkpointEvery) {
+        parallelism = Math.min(parallelism, trials);
+        ExecutorService executor = parallelism == 1
+                                   ? null : Executors.newFixedThreadPool(parallelism);
+        try {
+            long start = System.nanoTime();
+            while (trials() < trials) {
+                runTrials(executor, parallelism, Math.min(trials() + checkpointEvery, trials),
+                          start, Long.MAX_VALUE);
+                if (checkpoint != null)
+                    PercolationCheckpoint.save(checkpoint, gridSize, trials, seed, strategy,
+                                               stats);
+            }
+        } finally {
+            if (executor != null)
+                executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Run trials from trials() up to, but excluding, to, and fold their results into stats. No
+     * trial is started once budget nanoseconds have passed since start, so the trials that did
+     * run are always a prefix of the requested ones.
+     *
+     * Without an executor, the trials run on the calling thread. Otherwise, every one of the
+     * parallelism workers pulls the index of the next trial from a shared counter, so a worker
+     * that finishes early keeps picking up trials instead of waiting on a static share. Every
+     * worker folds its results into its own RunningStats, and the partial accumulators are merged
+     * into stats once all workers are done.
+     *
+     * @param executor    Pool running the workers, or null to run on the calling thread
+     * @param parallelism Number of workers
+     * @param to          Index of the first trial not to run
+     * @param start       System.nanoTime() at the start of the run
+     * @param budget      Time after which no new trial is started, in nanoseconds
+     */
+    private void runTrials(ExecutorService executor, int parallelism, int to, long start,
+                           long budget) {
+        AtomicInteger nextTrial = new AtomicInteger(trials());
+        if (executor == null) {
+            stats.merge(runTrials(nextTrial, to, start, budget));
+            return;
+        }
+
+        List<Future<RunningStats>> workers = new ArrayList<>(parallelism);
+        try {
+            for (int w = 0; w < parallelism; w++)
+                workers.add(executor.submit(() -> runTrials(nextTrial, to, start, budget)));
+            for (Future<RunningStats> worker : workers)
+                stats.merge(worker.get());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(
+                    "PercolationStats.runTrials(): Interrupted!", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(
+                    "PercolationStats.runTrials(): Trial failed!", e.getCause());
+        }
+    }
+
+    /**
+     * Worker loop: keep taking the next trial index from nextTrial and running it until the index
+     * reaches to or the time budget is spent. With the SINGLE_PASS strategy on a 2D grid, the
+     * worker keeps one PercolationThreshold for all its trials rather than allocating its arrays
+     * again for every trial.
+     *
+     * @param nextTrial Counter handing out trial indices
+     * @param to        Index of the first trial not to run
+     * @param start     System.nanoTime() at the start of the run
+     * @param budget    Time after which no new trial is started, in nanoseconds
+     * @return Statistics of the trials run by this worker
+     */
+    private RunningStats runTrials(AtomicInteger nextTrial, int to, long start, long budget) {
+        RunningStats workerStats = new RunningStats();
+        PercolationThreshold engine = null;
+        while (System.nanoTime() - start < budget) {
+            int i = nextTrial.getAndIncrement();
+            if (i >= to)
+                break;
+            if (engine == null && neighborhood == null && strategy == OpeningStrategy.SINGLE_PASS)
+                engine = new PercolationThreshold(gridSize);
+            workerStats.add(runTrial(i, engine));
+        }
+        return workerStats;
+    }
 
-        mean = StdStats.mean(trialStats) / (gridSize * gridSize);
-        stddev = StdStats.stddev(trialStats) / (gridSize * gridSize);
+    /**
+     * Run the ith trial of this run.
+     *
+     * @param i      ith trial
+     * @param engine Engine of the worker running SINGLE_PASS trials, null for other strategies
+     * @return Fraction of sites opened when the Grid percolates
+     */
+    private double runTrial(int i, PercolationThreshold engine) {
+        if (engine != null)
+            return (double) engine.openSitesToPercolate(trialRandom(seed, i)) / gridSize / gridSize;
+        if (neighborhood != null) {
+            PercolationLattice lattice = new PercolationLattice(gridSize, dimensions, neighborhood);
+            openSitesInRandomOrder(lattice, trialRandom(seed, i));
+            return (double) lattice.numberOfOpenSites() / lattice.sites();
+        }
+        return (double) runTrial(gridSize, strategy, trialRandom(seed, i)) / gridSize / gridSize;
+    }
+
+    /**
+     * Rerun a single trial of a seeded run, e.g. to profile a slow one. Returns the same number of
+     * open sites as trial i of new PercolationStats(n, trials, parallelism, seed).
+     *
+     * @param n     Size of the grid
+     * @param seed  Master seed of the run
+     * @param trial Index of the trial, starting from 0
+     * @return Number of sites opened when the Grid percolates
+     * @throws IllegalArgumentException if n is less than or equal to 0 or trial is negative
+     */
+    public static int openSitesInTrial(int n, long seed, int trial) {
+        return openSitesInTrial(n, seed, trial, OpeningStrategy.REJECTION);
+    }
+
+    /**
+     * Rerun a single trial of a seeded run that used the given opening strategy.
+     *
+     * @param n        Size of the grid
+     * @param seed     Master seed of the run
+     * @param trial    Index of the trial, starting from 0
+     * @param strategy Opening strategy of the run
+     * @return Number of sites opened when the Grid percolates
+     * @throws IllegalArgumentException if n is less than or equal to 0, trial is negative or
+     *                                  strategy is null
+     */
+    public static int openSitesInTrial(int n, long seed, int trial, OpeningStrategy strategy) {
+        if (n <= 0 || trial < 0 || strategy == null)
+            throw new IllegalArgumentException(
+                    "PercolationStats.openSitesInTrial(): Argument(s) out of bounds!");
+        return runTrial(n, strategy, trialRandom(seed, trial));
+    }
+
+    /**
+     * Derive the random stream of a trial from the master seed. The trial seed is the ith output
+     * of a SplitMix64 generator started at the master seed, which decorrelates neighbouring trials
+     * while depending on nothing but the seed and the trial index. PercolationSweep uses the same
+     * derivation for its trials.
+     *
+     * @param seed  Master seed of the run
+     * @param trial Index of the trial
+     * @return Random stream of the trial
+     */
+    static SplittableRandom trialRandom(long seed, int trial) {
+        long z = seed + (trial + 1L) * GOLDEN_GAMMA;
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return new SplittableRandom(z ^ (z >>> 31));
     }
 
     /**
      * Run an individual trial. For every trial, open a Grid with given size and keep opening a site
      * until the Grid percolates. At the end, calculate the number of sites needed to be opened
      *
-     * @param i ith trial
+     * @param n        Size of the grid
+     * @param strategy How the sites to open are picked
+     * @param random   Random stream used to pick the sites to open
+     * @return Number of sites opened when the Grid percolates
+     */
+    private static int runTrial(int n, OpeningStrategy strategy, SplittableRandom random) {
+        if (strategy == OpeningStrategy.SINGLE_PASS)
+            return new PercolationThreshold(n).openSitesToPercolate(random);
+
+        Percolation p = new Percolation(n);
+        switch (strategy) {
+            case PERMUTATION:
+                openSitesInRandomOrder(p, n, random);
+                break;
+            default:
+                while (!p.percolates())
+                    openSite(p, n, random);
+        }
+        return p.numberOfOpenSites();
+    }
+
+    /**
+     * Open the sites of the Grid following a random permutation of their indices until the Grid
+     * percolates. The permutation is built by a Fisher-Yates shuffle that only runs as far as the
+     * sites actually opened: step k swaps a random not-yet-opened index into position k and opens
+     * it. Every draw opens a new site, so no random number or isOpen() check is wasted.
+     *
+     * @param p      Percolation grid
+     * @param n      Size of the grid
+     * @param random Random stream used to shuffle the sites
      */
-    private void runTrial(int i) {
-        Percolation p = new Percolation(gridSize);
-        while (!p.percolates())
-            openSite(p);
-        trialStats[i] = p.numberOfOpenSites();
+    private static void openSitesInRandomOrder(Percolation p, int n, SplittableRandom random) {
+        int[] sites = new int[n * n];
+        for (int i = 0; i < sites.length; i++)
+            sites[i] = i;
+
+        for (int k = 0; !p.percolates(); k++) {
+            int j = k + random.nextInt(sites.length - k);
+            int site = sites[j];
+            sites[j] = sites[k];
+            sites[k] = site;
+            p.open(site / n + 1, site % n + 1);
+        }
     }
 
     /**
-     * Open a site in the Grid. Randomly generate the row and column index using StdRandom uniform.
-     * If the site at that row and column has not been opened, open it.
+     * Open a site in the Grid. Randomly generate the row and column index using the given random
+     * stream. If the site at that row and column has not been opened, open it.
      *
-     * @param p Percolation grid
+     * @param p      Percolation grid
+     * @param n      Size of the grid
+     * @param random Random stream used to pick the site
      */
-    private void openSite(Percolation p) {
-        int[] siteToOpen = {StdRandom.uniform(gridSize) + 1, StdRandom.uniform(gridSize) + 1};
+    private static void openSite(Percolation p, int n, SplittableRandom random) {
+        int[] siteToOpen = {random.nextInt(n) + 1, random.nextInt(n) + 1};
         if (!p.isOpen(siteToOpen[0], siteToOpen[1]))
             p.open(siteToOpen[0], siteToOpen[1]);
     }
 
+    /**
+     * Open the sites of a lattice following a random permutation of their flat indices until it
+     * percolates, with the same lazy Fisher-Yates shuffle as for the grid.
+     *
+     * @param lattice Percolation lattice
+     * @param random  Random stream used to shuffle the sites
+     */
+    private static void openSitesInRandomOrder(PercolationLattice lattice,
+                                               SplittableRandom random) {
+        int[] sites = new int[lattice.sites()];
+        for (int i = 0; i < sites.length; i++)
+            sites[i] = i;
+
+        for (int k = 0; !lattice.percolates(); k++) {
+            int j = k + random.nextInt(sites.length - k);
+            int site = sites[j];
+            sites[j] = sites[k];
+            sites[k] = site;
+            lattice.openSite(site);
+        }
+    }
+
+    /**
+     * How a trial picks the next site to open.
+     */
+    public enum OpeningStrategy {
+        /**
+         * Draw a uniformly random site and open it unless it is already open.
+         */
+        REJECTION,
+        /**
+         * Open the sites in the order of a uniformly random permutation, so every draw opens a
+         * new site.
+         */
+        PERMUTATION,
+        /**
+         * Same opening order as PERMUTATION, but run by PercolationThreshold, which finds the
+         * threshold in one pass without building a Percolation or querying it after every open.
+         */
+        SINGLE_PASS
+    }
+
+    /**
+     * Master seed of this run. Passing it back to the seeded constructor reproduces every trial.
+     *
+     * @return Master seed every trial's random stream was derived from
+     */
+    public long seed() {
+        return seed;
+    }
+
+    /**
+     * Number of trials performed. In the adaptive mode this is only known once the run is over.
+     *
+     * @return Number of trials performed
+     */
+    public int trials() {
+        return (int) stats.count();
+    }
+
     /**
      * Sample mean of percolation threshold.
      *
      * @return Average number of sites needed to be opened in every trials
      */
     public double mean() {
-        return mean;
+        return stats.mean();
     }
 
     /**
@@ -77,7 +554,7 @@ public class PercolationStats {
      * @return Standard deviation of number of sites needed to be opened in every trials
      */
     public double stddev() {
-        return stddev;
+        return stats.stddev();
     }
 
     /**
@@ -86,7 +563,7 @@ public class PercolationStats {
      * @return Low endpoint of 95% confidence interval
      */
     public double confidenceLo() {
-        return mean - ZSTAR * stddev / Math.sqrt(trialStats.length);
+        return stats.confidenceLo();
     }
 
     /**
@@ -95,27 +572,65 @@ public class PercolationStats {
      * @return High endpoint of 95% confidence interval
      */
     public double confidenceHi() {
-        return mean + ZSTAR * stddev / Math.sqrt(trialStats.length);
+        return stats.confidenceHi();
     }
 
     /**
      * Test client
      */
     public static void main(String[] args) {
-        // This is supposed to be working but it does not. For explanation, see below
-        // Only uncomment when submit to Coursera
-        // int n = Integer.parseInt(args[0]);
-        // int trials = Integer.parseInt(args[1]);
-
-        // For some dumb reason, when run in Terminal, Java compiler could not find Percolation class so I cannot use
-        // terminal to enter args. At the same time, a normal Run through IntelliJ does not allow entering args manually
+        // Build with Maven (or javac) and run with algs4.jar on the classpath, see the README.
+        // Without arguments, fall back to a 200 x 200 grid and 100 trials
         int n = 200;
         int trials = 100;
+        if (args.length >= 2) {
+            n = Integer.parseInt(args[0]);
+            trials = Integer.parseInt(args[1]);
+        }
 
         PercolationStats ps = new PercolationStats(n, trials);
         System.out.println("Mean = " + ps.mean());
         System.out.println("Std = " + ps.stddev());
         System.out.println(
                 "95% confidence interval = [" + ps.confidenceLo() + ", " + ps.confidenceHi() + "]");
+
+        ps = new PercolationStats(n, trials, Runtime.getRuntime().availableProcessors(), 42L);
+        System.out.println("Mean = " + ps.mean());
+        System.out.println("Std = " + ps.stddev());
+        System.out.println(
+                "95% confidence interval = [" + ps.confidenceLo() + ", " + ps.confidenceHi() + "]");
+
+        ps = new PercolationStats(n, trials, Runtime.getRuntime().availableProcessors(), 42L,
+                                  OpeningStrategy.PERMUTATION);
+        System.out.println("Mean (permutation) = " + ps.mean());
+        System.out.println("Std (permutation) = " + ps.stddev());
+
+        PercolationStats sequential = new PercolationStats(n, trials, 1, 42L,
+                                                           OpeningStrategy.PERMUTATION);
+        System.out.println("Mean with 1 thread = " + sequential.mean());
+
+        PercolationStats singlePass = new PercolationStats(n, trials, 1, 42L,
+                                                           OpeningStrategy.SINGLE_PASS);
+        System.out.println("Same mean in one pass = " + (singlePass.mean() == sequential.mean()));
+        System.out.println("Trial 0 of seed 42 = " + openSitesInTrial(n, 42L, 0));
+
+        ps = new PercolationStats(n, 0.002, 100_000, 10_000,
+                                  Runtime.getRuntime().availableProcessors(), 42L,
+                                  OpeningStrategy.SINGLE_PASS);
+        System.out.println("Adaptive trials = " + ps.trials());
+        System.out.println(
+                "95% confidence interval = [" + ps.confidenceLo() + ", " + ps.confidenceHi() + "]");
+
+        Path checkpoint = Path.of(System.getProperty("java.io.tmpdir"),
+                                  "percolation-stats-" + n + "-" + trials + ".ckpt");
+        ps = new PercolationStats(n, trials, 1, 42L, OpeningStrategy.SINGLE_PASS, checkpoint, 10);
+        System.out.println("Checkpointed mean = " + ps.mean());
+        ps = new PercolationStats(n, trials, 1, 42L, OpeningStrategy.SINGLE_PASS, checkpoint, 10);
+        System.out.println("Resumed mean = " + ps.mean() + " (nothing left to run)");
+
+        ps = new PercolationStats(30, 3, PercolationLattice.Neighborhood.FACE, trials,
+                                  Runtime.getRuntime().availableProcessors(), 42L);
+        System.out.println("Mean (3D) = " + ps.mean());
+        System.out.println("Std (3D) = " + ps.stddev());
     }
 }
@@ -0,0 +1,141 @@
+import java.util.SplittableRandom;
+
+public class PercolationSweep {
+
+    private final double[] probabilities;
+    private final double[] fractionPercolating;
+    private final int trials;
+
+    /**
+     * Percolation model of a sweep.
+     */
+    public enum Model {
+        /**
+         * Sites are opened, as in Percolation.
+         */
+        SITE,
+        /**
+         * Every site is open and bonds between neighbors are opened, as in BondPercolation.
+         */
+        BOND
+    }
+
+    /**
+     * Estimate, for every fraction p, the fraction of n-by-n systems that percolate when exactly
+     * round(p * N) of their N sites (or bonds), chosen uniformly at random, are open. This is the
+     * fixed-count (microcanonical) estimate. It is not the same as opening each element
+     * independently with probability p, whose number of open elements is Binomial(N, p) instead of
+     * fixed, although the two agree more and more closely as n grows. Rather than running separate
+     * simulations per p, every trial opens the elements of one random permutation in order and
+     * records the step k at which the system first percolates. The first round(p * N) elements of a
+     * random ordering are a uniformly random set of that size, so that trial percolates at exactly
+     * the p values with round(p * N) >= k, and one pass answers all of them. The independent,
+     * Bernoulli(p) value can be derived from the same steps by weighting the fixed-count value at
+     * every count k with the Binomial(N, p) probability of k.
+     *
+     * @param n             Size of the grid
+     * @param probabilities Fractions p of open elements to report, each between 0 and 1
+     * @param trials        Number of trials
+     * @param seed          Master seed every trial's random stream is derived from
+     * @param model         Whether sites or bonds are opened
+     * @throws IllegalArgumentException if n or trials is less than or equal to 0, if model or
+     *                                  probabilities is null, or if a probability is not between
+     *                                  0 and 1
+     */
+    public PercolationSweep(int n, double[] probabilities, int trials, long seed, Model model) {
+        if (n <= 0 || trials <= 0 || model == null || probabilities == null)
+            throw new IllegalArgumentException(
+                    "PercolationSweep.PercolationSweep(): Argument(s) out of bounds!");
+        for (double p : probabilities)
+            if (!(p >= 0 && p <= 1))
+                throw new IllegalArgumentException(
+                        "PercolationSweep.PercolationSweep(): Probability must be in [0, 1]!");
+
+        this.probabilities = probabilities.clone();
+        this.trials = trials;
+        fractionPercolating = new double[probabilities.length];
+
+        long elements = model == Model.SITE ? (long) n * n : 2L * n * (n - 1);
+        long[] openAtP = new long[probabilities.length];
+        for (int j = 0; j < probabilities.length; j++)
+            openAtP[j] = Math.round(probabilities[j] * elements);
+
+        PercolationThreshold siteEngine = model == Model.SITE ? new PercolationThreshold(n) : null;
+        for (int i = 0; i < trials; i++) {
+            SplittableRandom random = PercolationStats.trialRandom(seed, i);
+            int threshold = model == Model.SITE
+                            ? siteEngine.openSitesToPercolate(random)
+                            : openBondsToPercolate(n, random);
+            for (int j = 0; j < openAtP.length; j++)
+                if (openAtP[j] >= threshold)
+                    fractionPercolating[j]++;
+        }
+
+        for (int j = 0; j < fractionPercolating.length; j++)
+            fractionPercolating[j] /= trials;
+    }
+
+    /**
+     * Open the bonds of an n-by-n grid in the order of a lazy Fisher-Yates shuffle until it
+     * percolates.
+     *
+     * @param n      Size of the grid
+     * @param random Random stream used to shuffle the bonds
+     * @return Number of bonds opened when the grid percolates
+     */
+    private static int openBondsToPercolate(int n, SplittableRandom random) {
+        BondPercolation p = new BondPercolation(n);
+        int[] bonds = new int[p.bonds()];
+        for (int i = 0; i < bonds.length; i++)
+            bonds[i] = i;
+
+        for (int k = 0; !p.percolates(); k++) {
+            int j = k + random.nextInt(bonds.length - k);
+            int bond = bonds[j];
+            bonds[j] = bonds[k];
+            bonds[k] = bond;
+            p.openBond(bond);
+        }
+        return p.numberOfOpenBonds();
+    }
+
+    /**
+     * @return Number of trials performed
+     */
+    public int trials() {
+        return trials;
+    }
+
+    /**
+     * @return Probabilities the sweep reports on, in the order they were given
+     */
+    public double[] probabilities() {
+        return probabilities.clone();
+    }
+
+    /**
+     * Fraction of trials that percolate at the ith probability
+     *
+     * @param i Index of the probability, as given to the constructor
+     * @return Fraction of trials that percolate at probabilities()[i]
+     * @throws IllegalArgumentException if i is out of bounds
+     */
+    public double fractionPercolating(int i) {
+        if (i < 0 || i >= fractionPercolating.length)
+            throw new IllegalArgumentException(
+                    "PercolationSweep.fractionPercolating(): Argument out of bounds!");
+        return fractionPercolating[i];
+    }
+
+    /**
+     * Test client
+     */
+    public static void main(String[] args) {
+        double[] probabilities = {0.40, 0.45, 0.50, 0.55, 0.59, 0.60, 0.65, 0.70};
+        PercolationSweep site = new PercolationSweep(100, probabilities, 500, 42L, Model.SITE);
+        PercolationSweep bond = new PercolationSweep(100, probabilities, 500, 42L, Model.BOND);
+        for (int i = 0; i < probabilities.length; i++)
+            System.out.println("p = " + probabilities[i] + ": site " + site.fractionPercolating(i)
+                    + ", bond " + bond.fractionPercolating(i));
+    }
+}
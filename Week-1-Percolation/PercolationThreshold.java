@@ -0,0 +1,129 @@
+import java.util.SplittableRandom;
+
+public class PercolationThreshold {
+
+    private static final byte CONNECTED_TO_TOP = 1;
+    private static final byte CONNECTED_TO_BOTTOM = 2;
+    private static final byte OPEN = 4;
+    private static final byte PERCOLATING = CONNECTED_TO_TOP | CONNECTED_TO_BOTTOM;
+
+    private final int size;
+    private final UnionFind uf;
+    private final byte[] status;
+    private final int[] order;
+
+    /**
+     * Initialize the engine for an n x n grid. Every site gets one element in the Union-Find uf,
+     * one status byte and one slot in the opening order. status holds the OPEN bit of every site
+     * and, on roots, whether the component touches the top row and/or the bottom row. uf and the
+     * arrays are reset at the start of every trial, so a single engine can run any number of
+     * trials.
+     *
+     * @param n Size of the grid
+     * @throws IllegalArgumentException if n is less than or equals to 0
+     */
+    public PercolationThreshold(int n) {
+        if (n <= 0)
+            throw new IllegalArgumentException(
+                    "PercolationThreshold.PercolationThreshold(): Argument cannot be 0 or less!");
+
+        size = n;
+        uf = new UnionFind(n * n);
+        status = new byte[n * n];
+        order = new int[n * n];
+    }
+
+    /**
+     * Run one trial: open the sites in the order of a uniformly random permutation and return the
+     * exact number of sites open at the moment the grid percolates. This is a single pass over the
+     * permutation. Each step opens a site, unions it with its open neighbors and merges their
+     * status flags. The pass stops at the first union whose root is connected to both top and
+     * bottom, so no connected() or percolates() query is ever made.
+     *
+     * @param random Random stream used to shuffle the sites
+     * @return Number of sites opened when the grid percolates
+     */
+    public int openSitesToPercolate(SplittableRandom random) {
+        reset();
+
+        int sites = order.length;
+        for (int k = 0; k < sites; k++) {
+            int j = k + random.nextInt(sites - k);
+            int site = order[j];
+            order[j] = order[k];
+            order[k] = site;
+
+            if (openSite(site) == PERCOLATING)
+                return k + 1;
+        }
+        throw new IllegalStateException(
+                "PercolationThreshold.openSitesToPercolate(): Grid did not percolate!");
+    }
+
+    /**
+     * Clear the Union-Find and the status bytes and reset the opening order to the identity
+     * permutation.
+     */
+    private void reset() {
+        uf.reset();
+        for (int i = 0; i < order.length; i++) {
+            status[i] = 0;
+            order[i] = i;
+        }
+    }
+
+    /**
+     * Open a site and connect it with its open neighbors.
+     *
+     * @param site Index of the site, between 0 and n * n - 1
+     * @return Top/bottom flags of the component the site ends up in
+     */
+    private int openSite(int site) {
+        int row = site / size;
+        int col = site - row * size;
+
+        byte flags = OPEN;
+        if (row == 0)
+            flags |= CONNECTED_TO_TOP;
+        if (row == size - 1)
+            flags |= CONNECTED_TO_BOTTOM;
+        status[site] = flags;
+
+        int root = site;
+        if (col < size - 1 && status[site + 1] != 0)
+            root = union(root, site + 1);
+        if (col > 0 && status[site - 1] != 0)
+            root = union(root, site - 1);
+        if (row < size - 1 && status[site + size] != 0)
+            root = union(root, site + size);
+        if (row > 0 && status[site - size] != 0)
+            root = union(root, site - size);
+
+        return status[root] & PERCOLATING;
+    }
+
+    /**
+     * Union the component rooted at root with the component of an open neighbor and merge the
+     * top/bottom flags of both into the new root.
+     *
+     * @param root     Root of the component of the site being opened
+     * @param neighbor Open neighbor of the site being opened
+     * @return Root of the merged component
+     */
+    private int union(int root, int neighbor) {
+        byte merged = (byte) (status[root] | status[uf.find(neighbor)]);
+        root = uf.union(root, neighbor);
+        status[root] = merged;
+        return root;
+    }
+
+    /**
+     * Test client
+     */
+    public static void main(String[] args) {
+        PercolationThreshold engine = new PercolationThreshold(200);
+        SplittableRandom random = new SplittableRandom(42L);
+        for (int i = 0; i < 5; i++)
+            System.out.println("Trial " + i + ": " + engine.openSitesToPercolate(random));
+    }
+}
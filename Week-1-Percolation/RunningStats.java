@@ -0,0 +1,181 @@
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+public class RunningStats {
+
+    private static final double ZSTAR = 1.96;
+
+    private long count;
+    private double mean;
+    private double m2;
+
+    /**
+     * Construct an empty accumulator
+     */
+    public RunningStats() {
+        count = 0;
+        mean = 0.0;
+        m2 = 0.0;
+    }
+
+    /**
+     * Add a sample using Welford's update: shift the mean by its distance to the sample divided by
+     * the new count, and grow m2, the sum of squared distances to the mean, by the product of the
+     * distances before and after the shift. Nothing but these three numbers is kept, so memory
+     * does not depend on the number of samples.
+     *
+     * @param x Sample to add
+     */
+    public void add(double x) {
+        count++;
+        double delta = x - mean;
+        mean += delta / count;
+        m2 += delta * (x - mean);
+    }
+
+    /**
+     * Merge the samples of another accumulator into this one, e.g. the partial results of another
+     * worker thread. Uses the pairwise update of Chan et al., so the result is the same as if
+     * every sample had been added to this accumulator. The other accumulator is left unchanged.
+     *
+     * @param other Accumulator needed to be merged into this one
+     * @throws IllegalArgumentException if other is null
+     */
+    public void merge(RunningStats other) {
+        if (other == null)
+            throw new IllegalArgumentException("RunningStats.merge(): Argument cannot be null!");
+        if (other.count == 0)
+            return;
+
+        long total = count + other.count;
+        double delta = other.mean - mean;
+        mean += delta * other.count / total;
+        m2 += other.m2 + delta * delta * ((double) count * other.count / total);
+        count = total;
+    }
+
+    /**
+     * @return Number of samples added so far
+     */
+    public long count() {
+        return count;
+    }
+
+    /**
+     * Sample mean
+     *
+     * @return Mean of the samples added so far, or NaN if there is none
+     */
+    public double mean() {
+        return count == 0 ? Double.NaN : mean;
+    }
+
+    /**
+     * Sample variance, with the same n - 1 denominator as StdStats.var()
+     *
+     * @return Variance of the samples added so far, or NaN if there are fewer than 2
+     */
+    public double variance() {
+        return count < 2 ? Double.NaN : m2 / (count - 1);
+    }
+
+    /**
+     * Sample standard deviation, with the same n - 1 denominator as StdStats.stddev()
+     *
+     * @return Standard deviation of the samples added so far, or NaN if there are fewer than 2
+     */
+    public double stddev() {
+        return Math.sqrt(variance());
+    }
+
+    /**
+     * Low endpoint of the 95% confidence interval of the samples added so far. Can be called at
+     * any point to report an interim interval.
+     *
+     * @return Low endpoint of 95% confidence interval
+     */
+    public double confidenceLo() {
+        return mean() - ZSTAR * stddev() / Math.sqrt(count);
+    }
+
+    /**
+     * High endpoint of the 95% confidence interval of the samples added so far. Can be called at
+     * any point to report an interim interval.
+     *
+     * @return High endpoint of 95% confidence interval
+     */
+    public double confidenceHi() {
+        return mean() + ZSTAR * stddev() / Math.sqrt(count);
+    }
+
+    /**
+     * Estimate how many samples in total would bring the width of the 95% confidence interval down
+     * to width, assuming the standard deviation stays where it is now.
+     *
+     * @param width Target width of the confidence interval
+     * @return Estimated number of samples, or Long.MAX_VALUE if there are fewer than 2 so far
+     * @throws IllegalArgumentException if width is not positive
+     */
+    public long samplesForWidth(double width) {
+        if (!(width > 0))
+            throw new IllegalArgumentException(
+                    "RunningStats.samplesForWidth(): Argument must be positive!");
+        if (count < 2)
+            return Long.MAX_VALUE;
+
+        double root = 2 * ZSTAR * stddev() / width;
+        return (long) Math.ceil(root * root);
+    }
+
+    /**
+     * Write the state of the accumulator, 24 bytes, so that readFrom() can restore it
+     *
+     * @param out Output to write to
+     * @throws IOException if the output cannot be written
+     */
+    public void writeTo(DataOutput out) throws IOException {
+        out.writeLong(count);
+        out.writeDouble(mean);
+        out.writeDouble(m2);
+    }
+
+    /**
+     * Restore an accumulator written by writeTo()
+     *
+     * @param in Input to read from
+     * @return Accumulator with the same samples as the one written
+     * @throws IOException if the input cannot be read
+     */
+    public static RunningStats readFrom(DataInput in) throws IOException {
+        RunningStats stats = new RunningStats();
+        stats.count = in.readLong();
+        stats.mean = in.readDouble();
+        stats.m2 = in.readDouble();
+        if (stats.count < 0)
+            throw new IOException("RunningStats.readFrom(): Negative count!");
+        return stats;
+    }
+
+    /**
+     * Test client
+     */
+    public static void main(String[] args) {
+        RunningStats all = new RunningStats();
+        RunningStats even = new RunningStats();
+        RunningStats odd = new RunningStats();
+        for (int i = 1; i <= 10; i++) {
+            all.add(i);
+            if (i % 2 == 0)
+                even.add(i);
+            else
+                odd.add(i);
+            System.out.println("After " + i + " samples: mean = " + all.mean() + ", interval = ["
+                    + all.confidenceLo() + ", " + all.confidenceHi() + "]");
+        }
+
+        even.merge(odd);
+        System.out.println("Merged: mean = " + even.mean() + ", stddev = " + even.stddev());
+        System.out.println("Direct: mean = " + all.mean() + ", stddev = " + all.stddev());
+    }
+}
@@ -0,0 +1,113 @@
+public class UnionFind {
+
+    private final int[] parent;
+    private final byte[] rank;
+    private int count;
+
+    /**
+     * Initialize n elements, each in its own component. parent holds the forest, with every root
+     * pointing to itself, and rank holds an upper bound on the height of every root's tree. With
+     * union by rank the height never exceeds log2(n) < 32, so a byte per element is enough.
+     *
+     * @param n Number of elements
+     * @throws IllegalArgumentException if n is negative
+     */
+    public UnionFind(int n) {
+        if (n < 0)
+            throw new IllegalArgumentException(
+                    "UnionFind.UnionFind(): Argument cannot be negative!");
+
+        parent = new int[n];
+        rank = new byte[n];
+        for (int i = 0; i < n; i++)
+            parent[i] = i;
+        count = n;
+    }
+
+    /**
+     * Put every element back in its own component, reusing the arrays, so that a single UnionFind
+     * can serve any number of runs.
+     */
+    public void reset() {
+        for (int i = 0; i < parent.length; i++) {
+            parent[i] = i;
+            rank[i] = 0;
+        }
+        count = parent.length;
+    }
+
+    /**
+     * Find the root of an element's component, halving the path on the way up: every visited
+     * element is linked to its grandparent. Indices are not validated, so this is cheap enough to
+     * sit on the hot path of open(). An out-of-range index fails with the
+     * ArrayIndexOutOfBoundsException of the underlying array.
+     *
+     * @param p Element, between 0 and n - 1
+     * @return Root of the element's component
+     */
+    public int find(int p) {
+        while (parent[p] != p) {
+            parent[p] = parent[parent[p]];
+            p = parent[p];
+        }
+        return p;
+    }
+
+    /**
+     * Merge the components of two elements, linking the root of lower rank under the root of
+     * higher rank. Indices are not validated.
+     *
+     * @param p First element
+     * @param q Second element
+     * @return Root of the merged component
+     */
+    public int union(int p, int q) {
+        int rootP = find(p);
+        int rootQ = find(q);
+        if (rootP == rootQ)
+            return rootP;
+
+        count--;
+        if (rank[rootP] < rank[rootQ]) {
+            parent[rootP] = rootQ;
+            return rootQ;
+        }
+        if (rank[rootP] == rank[rootQ])
+            rank[rootP]++;
+        parent[rootQ] = rootP;
+        return rootP;
+    }
+
+    /**
+     * Are two elements in the same component? Indices are not validated.
+     *
+     * @param p First element
+     * @param q Second element
+     * @return True if p and q are in the same component. False otherwise.
+     */
+    public boolean connected(int p, int q) {
+        return find(p) == find(q);
+    }
+
+    /**
+     * @return Number of components
+     */
+    public int count() {
+        return count;
+    }
+
+    /**
+     * Test client
+     */
+    public static void main(String[] args) {
+        UnionFind uf = new UnionFind(10);
+        uf.union(4, 3);
+        uf.union(3, 8);
+        uf.union(6, 5);
+        uf.union(9, 4);
+        uf.union(2, 1);
+        System.out.println("connected(8, 9): " + uf.connected(8, 9));
+        System.out.println("connected(5, 4): " + uf.connected(5, 4));
+        System.out.println("components: " + uf.count());
+    }
+}
@@ -0,0 +1,143 @@
+import edu.princeton.cs.algs4.StdRandom;
+import edu.princeton.cs.algs4.Stopwatch;
+import edu.princeton.cs.algs4.WeightedQuickUnionUF;
+
+public class UnionFindBenchmark {
+
+    private static final double OPEN_FRACTION = 0.6;
+
+    /**
+     * Replay the union-find work of Percolation.open() on an n x n grid backed by the algs4
+     * WeightedQuickUnionUF: for every site in order, union it with its open neighbors and merge
+     * the top/bottom flags onto the new root.
+     *
+     * @param n     Size of the grid
+     * @param order Sites to open, in order
+     * @return Number of components at the end, so the work cannot be optimized away
+     */
+    private static int openWithAlgs4(int n, int[] order) {
+        WeightedQuickUnionUF uf = new WeightedQuickUnionUF(n * n);
+        byte[] status = new byte[n * n];
+        boolean[] open = new boolean[n * n];
+        for (int site : order) {
+            int row = site / n;
+            int col = site % n;
+            status[site] = (byte) ((row == 0 ? 1 : 0) | (row == n - 1 ? 2 : 0));
+            if (col < n - 1 && open[site + 1])
+                unionWithAlgs4(uf, status, site, site + 1);
+            if (col > 0 && open[site - 1])
+                unionWithAlgs4(uf, status, site, site - 1);
+            if (row < n - 1 && open[site + n])
+                unionWithAlgs4(uf, status, site, site + n);
+            if (row > 0 && open[site - n])
+                unionWithAlgs4(uf, status, site, site - n);
+            open[site] = true;
+        }
+        return uf.count();
+    }
+
+    private static void unionWithAlgs4(WeightedQuickUnionUF uf, byte[] status, int p, int q) {
+        int rootP = uf.find(p);
+        int rootQ = uf.find(q);
+        if (rootP == rootQ)
+            return;
+        byte flags = (byte) (status[rootP] | status[rootQ]);
+        uf.union(rootP, rootQ);
+        status[uf.find(rootP)] = flags;
+    }
+
+    /**
+     * Same replay as openWithAlgs4(), backed by UnionFind.
+     *
+     * @param n     Size of the grid
+     * @param order Sites to open, in order
+     * @return Number of components at the end, so the work cannot be optimized away
+     */
+    private static int openWithUnionFind(int n, int[] order) {
+        UnionFind uf = new UnionFind(n * n);
+        byte[] status = new byte[n * n];
+        boolean[] open = new boolean[n * n];
+        for (int site : order) {
+            int row = site / n;
+            int col = site % n;
+            status[site] = (byte) ((row == 0 ? 1 : 0) | (row == n - 1 ? 2 : 0));
+            if (col < n - 1 && open[site + 1])
+                unionWithUnionFind(uf, status, site, site + 1);
+            if (col > 0 && open[site - 1])
+                unionWithUnionFind(uf, status, site, site - 1);
+            if (row < n - 1 && open[site + n])
+                unionWithUnionFind(uf, status, site, site + n);
+            if (row > 0 && open[site - n])
+                unionWithUnionFind(uf, status, site, site - n);
+            open[site] = true;
+        }
+        return uf.count();
+    }
+
+    private static void unionWithUnionFind(UnionFind uf, byte[] status, int p, int q) {
+        int rootP = uf.find(p);
+        int rootQ = uf.find(q);
+        if (rootP == rootQ)
+            return;
+        status[uf.union(rootP, rootQ)] = (byte) (status[rootP] | status[rootQ]);
+    }
+
+    /**
+     * Open the sites in order through the public Percolation API.
+     *
+     * @param n     Size of the grid
+     * @param order Sites to open, in order
+     * @return Number of open sites at the end, so the work cannot be optimized away
+     */
+    private static int openWithPercolation(int n, int[] order) {
+        Percolation p = new Percolation(n);
+        for (int site : order)
+            p.open(site / n + 1, site % n + 1);
+        return p.numberOfOpenSites() + (p.percolates() ? 1 : 0);
+    }
+
+    /**
+     * Benchmark client. For every grid size given as argument (1000, 5000 and 10000 by default),
+     * open 60% of the sites, a little above the percolation threshold, in a random order and
+     * report open() throughput with the algs4 WeightedQuickUnionUF, with UnionFind, and through
+     * Percolation itself. Every measurement runs once to warm up the JIT and is then timed. Sizes
+     * of 10000 need a heap of a few GB (-Xmx4g).
+     *
+     * @param args Grid sizes
+     */
+    public static void main(String[] args) {
+        int[] sizes = {1000, 5000, 10000};
+        if (args.length > 0) {
+            sizes = new int[args.length];
+            for (int i = 0; i < args.length; i++)
+                sizes[i] = Integer.parseInt(args[i]);
+        }
+
+        for (int n : sizes) {
+            int[] order = StdRandom.permutation(n * n, (int) (OPEN_FRACTION * n * n));
+            System.out.println("n = " + n + ", " + order.length + " opens");
+
+            int check = openWithAlgs4(n, order);
+            Stopwatch stopwatch = new Stopwatch();
+            check += openWithAlgs4(n, order);
+            report("WeightedQuickUnionUF", order.length, stopwatch.elapsedTime());
+
+            check += openWithUnionFind(n, order);
+            stopwatch = new Stopwatch();
+            check += openWithUnionFind(n, order);
+            report("UnionFind", order.length, stopwatch.elapsedTime());
+
+            check += openWithPercolation(n, order);
+            stopwatch = new Stopwatch();
+            check += openWithPercolation(n, order);
+            report("Percolation.open()", order.length, stopwatch.elapsedTime());
+
+            System.out.println("  (checksum " + check + ")");
+        }
+    }
+
+    private static void report(String name, int opens, double seconds) {
+        System.out.printf("  %-22s %8.3f s  %8.2f M opens/s%n", name, seconds,
+                          opens / seconds / 1e6);
+    }
+}
@@ -0,0 +1,317 @@
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+public class BoundedBlockingDeque<Item> implements Iterable<Item> {
+
+    /**
+     * What addFirst() and addLast() do when the deque is full.
+     */
+    public enum FullPolicy {
+        /**
+         * Wait until a consumer makes room.
+         */
+        BLOCK,
+        /**
+         * Wait until a consumer makes room, for at most the deque's timeout, then throw an IllegalStateException.
+         */
+        TIMEOUT,
+        /**
+         * Throw an IllegalStateException right away.
+         */
+        FAIL_FAST
+    }
+
+    private final Item[] deque;
+    private final FullPolicy policy;
+    private final long timeoutNanos;
+    private final ReentrantLock lock;
+    private final Condition notEmpty;
+    private final Condition notFull;
+
+    private int head;
+    private int size;
+
+    /**
+     * Construct an empty deque holding at most capacity items, whose producers block while it is full
+     *
+     * @param capacity maximum number of items
+     * @throws IllegalArgumentException if capacity is less than or equals to 0
+     */
+    public BoundedBlockingDeque(int capacity) {
+        this(capacity, FullPolicy.BLOCK, 0);
+    }
+
+    /**
+     * Construct an empty deque holding at most capacity items, so that producers faster than consumers are held back
+     * instead of growing the deque without limit. Items live in a circular array allocated once, like
+     * ResizingArrayDeque's but never resized. Every method holds a single lock; consumers wait on a notEmpty
+     * condition while the deque is empty, and producers handle a full deque according to policy, waiting on a notFull
+     * condition for BLOCK and TIMEOUT
+     *
+     * @param capacity      maximum number of items
+     * @param policy        what adding to a full deque does
+     * @param timeoutMillis how long adding to a full deque waits with the TIMEOUT policy, ignored otherwise
+     * @throws IllegalArgumentException if capacity is less than or equals to 0, if policy is null, or if
+     *                                  timeoutMillis is negative
+     */
+    public BoundedBlockingDeque(int capacity, FullPolicy policy, long timeoutMillis) {
+        if (capacity <= 0 || policy == null || timeoutMillis < 0)
+            throw new IllegalArgumentException(
+                    "BoundedBlockingDeque.BoundedBlockingDeque(): Argument(s) out of bounds!");
+
+        deque = (Item[]) new Object[capacity];
+        this.policy = policy;
+        timeoutNanos = TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        lock = new ReentrantLock();
+        notEmpty = lock.newCondition();
+        notFull = lock.newCondition();
+        head = 0;
+        size = 0;
+    }
+
+    /**
+     * Is the deque empty? Other threads may change the deque at any time, so this is only a snapshot
+     *
+     * @return true if the size equals to 0, false otherwise
+     */
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * @return number of items on the deque, a snapshot if other threads are using it
+     */
+    public int size() {
+        lock.lock();
+        try {
+            return size;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return maximum number of items on the deque
+     */
+    public int capacity() {
+        return deque.length;
+    }
+
+    /**
+     * Add the item to the front of the deque. If the deque is full, wait, time out or fail according to the policy
+     *
+     * @param item needed to be added to the front of the deque
+     * @throws IllegalArgumentException if item is null
+     * @throws IllegalStateException    if the deque is full and stays full for the policy
+     * @throws InterruptedException     if interrupted while waiting for room
+     */
+    public void addFirst(Item item) throws InterruptedException {
+        if (item == null)
+            throw new IllegalArgumentException("BoundedBlockingDeque.addFirst(): Item cannot be null!");
+
+        lock.lockInterruptibly();
+        try {
+            awaitRoom("addFirst");
+            head = head == 0 ? deque.length - 1 : head - 1;
+            deque[head] = item;
+            size++;
+            notEmpty.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Add the item to the back of the deque. If the deque is full, wait, time out or fail according to the policy
+     *
+     * @param item needed to be added to the back of the deque
+     * @throws IllegalArgumentException if item is null
+     * @throws IllegalStateException    if the deque is full and stays full for the policy
+     * @throws InterruptedException     if interrupted while waiting for room
+     */
+    public void addLast(Item item) throws InterruptedException {
+        if (item == null)
+            throw new IllegalArgumentException("BoundedBlockingDeque.addLast(): Item cannot be null!");
+
+        lock.lockInterruptibly();
+        try {
+            awaitRoom("addLast");
+            deque[index(size)] = item;
+            size++;
+            notEmpty.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Return once there is room for one more item, holding the lock. Wait on notFull for as long as the policy allows
+     *
+     * @param method name of the calling method, for the exception message
+     * @throws IllegalStateException if the deque is full and stays full for the policy
+     * @throws InterruptedException  if interrupted while waiting
+     */
+    private void awaitRoom(String method) throws InterruptedException {
+        long nanos = timeoutNanos;
+        while (size == deque.length) {
+            if (policy == FullPolicy.FAIL_FAST || (policy == FullPolicy.TIMEOUT && nanos <= 0))
+                throw new IllegalStateException("BoundedBlockingDeque." + method + "(): Queue is full!");
+            if (policy == FullPolicy.BLOCK)
+                notFull.await();
+            else
+                nanos = notFull.awaitNanos(nanos);
+        }
+    }
+
+    /**
+     * Remove and return the first item in the deque, waiting for one if the deque is empty
+     *
+     * @return first item of the deque
+     * @throws InterruptedException if interrupted while waiting for an item
+     */
+    public Item removeFirst() throws InterruptedException {
+        lock.lockInterruptibly();
+        try {
+            while (size == 0)
+                notEmpty.await();
+            Item item = deque[head];
+            deque[head] = null;
+            head = index(1);
+            size--;
+            notFull.signal();
+            return item;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Remove and return the last item in the deque, waiting for one if the deque is empty
+     *
+     * @return last item of the deque
+     * @throws InterruptedException if interrupted while waiting for an item
+     */
+    public Item removeLast() throws InterruptedException {
+        lock.lockInterruptibly();
+        try {
+            while (size == 0)
+                notEmpty.await();
+            int last = index(size - 1);
+            Item item = deque[last];
+            deque[last] = null;
+            size--;
+            notFull.signal();
+            return item;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @param offset position of an item relative to the first one, between 0 and capacity
+     * @return index of that item in the circular array
+     */
+    private int index(int offset) {
+        int index = head + offset;
+        return index >= deque.length ? index - deque.length : index;
+    }
+
+    /**
+     * Iterate over a snapshot of the deque taken under the lock, so the iterator never blocks and is not affected by
+     * later changes
+     *
+     * @return an iterator over items in order from front to back
+     */
+    public Iterator<Item> iterator() {
+        Object[] snapshot;
+        lock.lock();
+        try {
+            snapshot = new Object[size];
+            for (int i = 0; i < size; i++)
+                snapshot[i] = deque[index(i)];
+        } finally {
+            lock.unlock();
+        }
+        return (Iterator<Item>) Arrays.asList(snapshot).iterator();
+    }
+
+    /**
+     * Unit testing
+     *
+     * @param args arguments got passed on while using the terminal
+     */
+    public static void main(String[] args) throws InterruptedException {
+        BoundedBlockingDeque<Integer> deque = new BoundedBlockingDeque<>(4, FullPolicy.FAIL_FAST, 0);
+
+        System.out.println("Testing addFirst() and addLast(): add 2, 1 to the front and 3, 4 to the back of a deque " +
+                "of capacity 4");
+        deque.addFirst(2);
+        deque.addFirst(1);
+        deque.addLast(3);
+        deque.addLast(4);
+        System.out.print("Deque: ");
+        for (Integer i : deque)
+            System.out.print(i + "->");
+        System.out.println();
+        System.out.println("-----------------------------------------------------------------------------------------");
+
+        System.out.println("Testing FAIL_FAST: add to the full deque. Should throw an IllegalStateException");
+        try {
+            deque.addLast(5);
+        } catch (IllegalStateException e) {
+            System.out.println(e);
+        }
+        System.out.println("-----------------------------------------------------------------------------------------");
+
+        System.out.println("Testing TIMEOUT: add to a full deque with a timeout of 100 ms. Should throw an " +
+                "IllegalStateException after about 100 ms");
+        BoundedBlockingDeque<Integer> timed = new BoundedBlockingDeque<>(1, FullPolicy.TIMEOUT, 100);
+        timed.addLast(1);
+        long start = System.nanoTime();
+        try {
+            timed.addLast(2);
+        } catch (IllegalStateException e) {
+            System.out.println(e + " after " + (System.nanoTime() - start) / 1_000_000 + " ms");
+        }
+        System.out.println("-----------------------------------------------------------------------------------------");
+
+        System.out.println("Testing BLOCK: a producer adds 0-99,999 to a deque of capacity 16 while the main thread " +
+                "removes them. Should print 100000 items in order and a size that never went above 16");
+        BoundedBlockingDeque<Integer> blocking = new BoundedBlockingDeque<>(16);
+        int n = 100_000;
+        Thread producer = new Thread(() -> {
+            try {
+                for (int i = 0; i < n; i++)
+                    blocking.addLast(i);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        producer.start();
+        boolean inOrder = true;
+        int maxSize = 0;
+        for (int i = 0; i < n; i++) {
+            maxSize = Math.max(maxSize, blocking.size());
+            inOrder &= blocking.removeFirst() == i;
+        }
+        producer.join();
+        System.out.println(n + " items in order: " + inOrder + ", largest size seen: " + maxSize);
+        System.out.println("-----------------------------------------------------------------------------------------");
+
+        System.out.println("Testing removeLast(): remove from an empty deque, then add 42 from another thread. " +
+                "Should wait, then print 42");
+        new Thread(() -> {
+            try {
+                Thread.sleep(50);
+                blocking.addFirst(42);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }).start();
+        System.out.println(blocking.removeLast());
+        System.out.println("-----------------------------------------------------------------------------------------");
+    }
+}
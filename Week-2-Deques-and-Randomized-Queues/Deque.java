@@ -1,3 +1,4 @@
+import java.util.ConcurrentModificationException;
 import java.util.Iterator;
 import java.util.NoSuchElementException;
 
@@ -12,6 +13,7 @@ public class Deque<Item> implements Iterable<Item> {
     private Node first;
     private Node last;
     private int size;
+    private int modCount;
 
     /**
      * Construct a empty deque
@@ -20,6 +22,7 @@ public class Deque<Item> implements Iterable<Item> {
         first = null;
         last = null;
         size = 0;
+        modCount = 0;
     }
 
     /**
@@ -66,6 +69,7 @@ public class Deque<Item> implements Iterable<Item> {
         }
 
         size++;
+        modCount++;
     }
 
     /**
@@ -96,6 +100,7 @@ public class Deque<Item> implements Iterable<Item> {
         }
 
         size++;
+        modCount++;
     }
 
     /**
@@ -114,6 +119,7 @@ public class Deque<Item> implements Iterable<Item> {
 
         Item item = first.item;
         size--;
+        modCount++;
 
         if (isEmpty()) {
             first = null;
@@ -142,6 +148,7 @@ public class Deque<Item> implements Iterable<Item> {
 
         Item item = last.item;
         size--;
+        modCount++;
 
         if (isEmpty()) {
             first = null;
@@ -156,6 +163,138 @@ public class Deque<Item> implements Iterable<Item> {
 
 
     /**
+     * Add every item of the array to the front of the deque, keeping their order: items[0] becomes the first item of
+     * the deque. Every item is checked before anything is added, so a null item leaves the deque untouched. The new
+     * nodes are linked to each other first, and the whole chain is then spliced in front of first in one step
+     *
+     * @param items needed to be added to the front of the deque
+     * @throws IllegalArgumentException if items or any of its items is null
+     */
+    public void addAllFirst(Item[] items) {
+        Node chain = chain(items, "addAllFirst");
+        if (chain == null)
+            return;
+
+        Node chainLast = chain.previous;
+        chain.previous = null;
+        if (isEmpty()) {
+            last = chainLast;
+        } else {
+            chainLast.next = first;
+            first.previous = chainLast;
+        }
+        first = chain;
+        size += items.length;
+        modCount++;
+    }
+
+    /**
+     * Add every item of the array to the back of the deque, keeping their order: the last item of the array becomes
+     * the last item of the deque. Every item is checked before anything is added, so a null item leaves the deque
+     * untouched. The new nodes are linked to each other first, and the whole chain is then spliced after last in one
+     * step
+     *
+     * @param items needed to be added to the back of the deque
+     * @throws IllegalArgumentException if items or any of its items is null
+     */
+    public void addAllLast(Item[] items) {
+        Node chain = chain(items, "addAllLast");
+        if (chain == null)
+            return;
+
+        Node chainLast = chain.previous;
+        chain.previous = null;
+        if (isEmpty()) {
+            first = chain;
+        } else {
+            last.next = chain;
+            chain.previous = last;
+        }
+        last = chainLast;
+        size += items.length;
+        modCount++;
+    }
+
+    /**
+     * Check the items and link them into a chain of new nodes, in order. The first node's previous temporarily points
+     * to the last node, so the caller gets both ends of the chain
+     *
+     * @param items  needed to be linked
+     * @param method name of the calling method, for the exception message
+     * @return first node of the chain, or null if items is empty
+     * @throws IllegalArgumentException if items or any of its items is null
+     */
+    private Node chain(Item[] items, String method) {
+        if (items == null)
+            throw new IllegalArgumentException("Deque." + method + "(): Array cannot be null!");
+        for (Item item : items)
+            if (item == null)
+                throw new IllegalArgumentException("Deque." + method + "(): Item cannot be null!");
+        if (items.length == 0)
+            return null;
+
+        Node chain = new Node();
+        chain.item = items[0];
+        Node chainLast = chain;
+        for (int i = 1; i < items.length; i++) {
+            Node node = new Node();
+            node.item = items[i];
+            node.previous = chainLast;
+            chainLast.next = node;
+            chainLast = node;
+        }
+        chain.previous = chainLast;
+        return chain;
+    }
+
+    /**
+     * Remove up to max items from the front of the deque and put them in the array, in order, starting at index 0.
+     * No more items are removed than the array can hold. The removed nodes are unlinked in one step once they have
+     * been read
+     *
+     * @param target array receiving the items
+     * @param max    maximum number of items to remove
+     * @return number of items removed
+     * @throws IllegalArgumentException if target is null or max is negative
+     */
+    public int drainTo(Item[] target, int max) {
+        if (target == null || max < 0)
+            throw new IllegalArgumentException("Deque.drainTo(): Argument(s) out of bounds!");
+
+        int count = Math.min(Math.min(max, size), target.length);
+        Node current = first;
+        for (int i = 0; i < count; i++) {
+            target[i] = current.item;
+            current = current.next;
+        }
+        unlinkFirst(current, count);
+        return count;
+    }
+
+    /**
+     * Make node the new first node after count nodes have been drained from the front, letting Garbage Collector
+     * handle the drained ones. Draining nothing leaves the deque, and its iterators, untouched
+     *
+     * @param node  node following the drained ones, null if the deque has been emptied
+     * @param count number of nodes drained
+     */
+    private void unlinkFirst(Node node, int count) {
+        if (count == 0)
+            return;
+        size -= count;
+        modCount++;
+        first = node;
+        if (node == null)
+            last = null;
+        else
+            node.previous = null;
+    }
+
+    /**
+     * Iterate over the items in order from front to back. The iterator is fail-fast: every method that adds or
+     * removes items increments modCount, and next() throws a ConcurrentModificationException if it has changed since
+     * the iterator was created, instead of walking nodes that may have been unlinked
+     *
      * @return an iterator over items in order from front to back
      */
     public Iterator<Item> iterator() {
@@ -163,6 +302,7 @@ public class Deque<Item> implements Iterable<Item> {
     }
 
     private class QueueIterator implements Iterator<Item> {
+        private final int expectedModCount = modCount;
         private Node current = first;
 
         public boolean hasNext() {
@@ -170,6 +310,8 @@ public class Deque<Item> implements Iterable<Item> {
         }
 
         public Item next() {
+            if (modCount != expectedModCount)
+                throw new ConcurrentModificationException("Deque.Iterator.next(): Deque has been modified!");
             if (!hasNext())
                 throw new NoSuchElementException("Deque.Iterator.next(): There is no more element to return!");
             Item item = current.item;
@@ -283,5 +425,64 @@ public class Deque<Item> implements Iterable<Item> {
             System.out.println(e);
         }
         System.out.println("-----------------------------------------------------------------------------------------");
+
+        System.out.println("Testing addAllLast(): add an array holding a null item. Should throw an " +
+                "IllegalArgumentException and leave the deque empty");
+        try {
+            deque.addAllLast(new Integer[]{1, null, 3});
+        } catch (IllegalArgumentException e) {
+            System.out.println(e);
+        }
+        System.out.println("Size of the queue: " + deque.size());
+        System.out.println("-----------------------------------------------------------------------------------------");
+
+        System.out.println("Testing addAllLast() and addAllFirst(): add 4-6 to the back, then 1-3 to the front, then " +
+                "7-9 to the back. Should print 1->2->3->4->5->6->7->8->9->");
+        deque.addAllLast(new Integer[]{4, 5, 6});
+        deque.addAllFirst(new Integer[]{1, 2, 3});
+        deque.addAllLast(new Integer[]{7, 8, 9});
+        System.out.print("Deque: ");
+        for (Integer i : deque)
+            System.out.print(i + "->");
+        System.out.println();
+        System.out.println("-----------------------------------------------------------------------------------------");
+
+        System.out.println("Testing drainTo(): drain 4 items into an array, then the rest into a larger one. Should " +
+                "print 1->2->3->4-> and 5->6->7->8->9->null->");
+        Integer[] drained = new Integer[4];
+        deque.drainTo(drained, 10);
+        Integer[] rest = new Integer[6];
+        deque.drainTo(rest, 10);
+        for (Integer i : drained)
+            System.out.print(i + "->");
+        System.out.print(" and ");
+        for (Integer i : rest)
+            System.out.print(i + "->");
+        System.out.println();
+        System.out.println("Size of the queue: " + deque.size());
+        deque.addLast(10);
+        System.out.println("Deque after addLast(10): " + deque.removeFirst() + ", size " + deque.size());
+        System.out.println("-----------------------------------------------------------------------------------------");
+
+        deque.addAllLast(new Integer[]{3, 4, 5});
+        System.out.println("Testing drainTo(): drain 0 items while iterating. Should print 3, the iterator staying " +
+                "valid");
+        Iterator<Integer> iterator = deque.iterator();
+        deque.drainTo(rest, 0);
+        System.out.println(iterator.next());
+        while (!deque.isEmpty())
+            deque.removeFirst();
+        System.out.println("-----------------------------------------------------------------------------------------");
+
+        System.out.println("Testing iterator(): add to the deque while iterating. Should throw a " +
+                "ConcurrentModificationException");
+        deque.addAllLast(new Integer[]{1, 2, 3});
+        try {
+            for (Integer i : deque)
+                deque.addLast(i);
+        } catch (ConcurrentModificationException e) {
+            System.out.println(e);
+        }
+        System.out.println("-----------------------------------------------------------------------------------------");
     }
 }
@@ -0,0 +1,214 @@
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+
+public class IntDeque implements Iterable<Integer> {
+
+    private static final int MIN_CAPACITY = 2;
+
+    private int[] deque;
+    private int head;
+    private int size;
+
+    /**
+     * Construct an empty deque of ints. It is laid out like ResizingArrayDeque, in a circular array whose capacity is
+     * always a power of two, but the array holds the values themselves, so no value is ever boxed
+     */
+    public IntDeque() {
+        deque = new int[MIN_CAPACITY];
+        head = 0;
+        size = 0;
+    }
+
+    /**
+     * Is the deque empty?
+     *
+     * @return true if the size equals to 0, false otherwise
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * @return number of values on the deque
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Add the value to the front of the deque. If the deque is full, double its capacity. Increment the size of the
+     * deque by 1
+     *
+     * @param value needed to be added to the front of the deque
+     */
+    public void addFirst(int value) {
+        if (size == deque.length)
+            resize(deque.length * 2);
+
+        head = (head - 1) & (deque.length - 1);
+        deque[head] = value;
+        size++;
+    }
+
+    /**
+     * Add the value to the back of the deque. If the deque is full, double its capacity. Increment the size of the
+     * deque by 1
+     *
+     * @param value needed to be added to the back of the deque
+     */
+    public void addLast(int value) {
+        if (size == deque.length)
+            resize(deque.length * 2);
+
+        deque[(head + size) & (deque.length - 1)] = value;
+        size++;
+    }
+
+    /**
+     * Remove and return the first value in the deque. If the deque is empty, throw a NoSuchElementException. If the
+     * size of the deque is less than 1/4 of its capacity after the removal, resize the deque to 1/2 of its current
+     * capacity
+     *
+     * @return first value of the deque
+     * @throws NoSuchElementException if the deque is empty
+     */
+    public int removeFirst() {
+        if (isEmpty())
+            throw new NoSuchElementException("IntDeque.removeFirst(): Queue is empty!");
+
+        int value = deque[head];
+        head = (head + 1) & (deque.length - 1);
+        size--;
+
+        if (size < deque.length / 4 && deque.length > MIN_CAPACITY)
+            resize(deque.length / 2);
+
+        return value;
+    }
+
+    /**
+     * Remove and return the last value in the deque. If the deque is empty, throw a NoSuchElementException. If the
+     * size of the deque is less than 1/4 of its capacity after the removal, resize the deque to 1/2 of its current
+     * capacity
+     *
+     * @return last value of the deque
+     * @throws NoSuchElementException if the deque is empty
+     */
+    public int removeLast() {
+        if (isEmpty())
+            throw new NoSuchElementException("IntDeque.removeLast(): Queue is empty!");
+
+        size--;
+        int value = deque[(head + size) & (deque.length - 1)];
+
+        if (size < deque.length / 4 && deque.length > MIN_CAPACITY)
+            resize(deque.length / 2);
+
+        return value;
+    }
+
+    /**
+     * Resize the deque's array to its new capacity, unwrapping the values so that the first one is at index 0
+     *
+     * @param capacity deque's new capacity, a power of two no less than size
+     */
+    private void resize(int capacity) {
+        int[] copy = new int[capacity];
+        int tail = Math.min(size, deque.length - head);
+        System.arraycopy(deque, head, copy, 0, tail);
+        System.arraycopy(deque, 0, copy, tail, size - tail);
+        deque = copy;
+        head = 0;
+    }
+
+    /**
+     * Iterate over the values in order from front to back. Call nextInt() on the iterator to get them without boxing;
+     * a for-each loop boxes every value
+     *
+     * @return an iterator over values in order from front to back
+     */
+    public PrimitiveIterator.OfInt iterator() {
+        return new DequeIterator();
+    }
+
+    private class DequeIterator implements PrimitiveIterator.OfInt {
+        private int current = 0;
+
+        public boolean hasNext() {
+            return current < size;
+        }
+
+        public int nextInt() {
+            if (!hasNext())
+                throw new NoSuchElementException("IntDeque.Iterator.nextInt(): There is no more element to return!");
+            return deque[(head + current++) & (deque.length - 1)];
+        }
+
+        public void remove() {
+            throw new UnsupportedOperationException("IntDeque.Iterator.remove(): Method is unsupported!");
+        }
+    }
+
+    /**
+     * Unit testing
+     *
+     * @param args arguments got passed on while using the terminal
+     */
+    public static void main(String[] args) {
+        IntDeque deque = new IntDeque();
+
+        System.out.println("Testing addFirst() and addLast(): add 1-5 to the front and 6-10 to the back");
+        for (int i = 1; i <= 5; i++) {
+            deque.addFirst(i);
+            deque.addLast(i + 5);
+        }
+        System.out.print("Deque: ");
+        for (PrimitiveIterator.OfInt it = deque.iterator(); it.hasNext(); )
+            System.out.print(it.nextInt() + "->");
+        System.out.println();
+        System.out.println("Size of the deque: " + deque.size());
+        System.out.println("-----------------------------------------------------------------------------------------");
+
+        System.out.println("Testing removeFirst() and removeLast(): remove every value from alternating ends. Should " +
+                "print 5 10 4 9 3 8 2 7 1 6");
+        while (!deque.isEmpty()) {
+            System.out.print(deque.removeFirst() + " ");
+            System.out.print(deque.removeLast() + " ");
+        }
+        System.out.println();
+        System.out.println("-----------------------------------------------------------------------------------------");
+
+        System.out.println("Testing removeLast(): remove from an empty deque. Should throw a NoSuchElementException");
+        try {
+            deque.removeLast();
+        } catch (NoSuchElementException e) {
+            System.out.println(e);
+        }
+        System.out.println("-----------------------------------------------------------------------------------------");
+
+        System.out.println("Testing boundaries: add Integer.MIN_VALUE, -1, 0 and Integer.MAX_VALUE to alternating " +
+                "ends, across a resize. Should print them back unchanged, -2147483648 first");
+        int[] boundaries = {0, -1, Integer.MAX_VALUE, Integer.MIN_VALUE};
+        for (int i = 0; i < boundaries.length; i++) {
+            if (i % 2 == 0)
+                deque.addLast(boundaries[i]);
+            else
+                deque.addFirst(boundaries[i]);
+        }
+        for (PrimitiveIterator.OfInt it = deque.iterator(); it.hasNext(); )
+            System.out.print(it.nextInt() + " ");
+        System.out.println();
+        System.out.println("-----------------------------------------------------------------------------------------");
+
+        System.out.println("Testing iterator(): call nextInt() past the last value. Should throw a " +
+                "NoSuchElementException");
+        PrimitiveIterator.OfInt it = deque.iterator();
+        try {
+            while (true)
+                it.nextInt();
+        } catch (NoSuchElementException e) {
+            System.out.println(e);
+        }
+        System.out.println("-----------------------------------------------------------------------------------------");
+    }
+}
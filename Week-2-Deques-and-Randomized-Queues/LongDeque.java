@@ -0,0 +1,194 @@
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+
+public class LongDeque implements Iterable<Long> {
+
+    private static final int MIN_CAPACITY = 2;
+
+    private long[] deque;
+    private int head;
+    private int size;
+
+    /**
+     * Construct an empty deque of longs. It is laid out like ResizingArrayDeque, in a circular array whose capacity
+     * is always a power of two, but the array holds the values themselves, so no value is ever boxed
+     */
+    public LongDeque() {
+        deque = new long[MIN_CAPACITY];
+        head = 0;
+        size = 0;
+    }
+
+    /**
+     * Is the deque empty?
+     *
+     * @return true if the size equals to 0, false otherwise
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * @return number of values on the deque
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Add the value to the front of the deque. If the deque is full, double its capacity. Increment the size of the
+     * deque by 1
+     *
+     * @param value needed to be added to the front of the deque
+     */
+    public void addFirst(long value) {
+        if (size == deque.length)
+            resize(deque.length * 2);
+
+        head = (head - 1) & (deque.length - 1);
+        deque[head] = value;
+        size++;
+    }
+
+    /**
+     * Add the value to the back of the deque. If the deque is full, double its capacity. Increment the size of the
+     * deque by 1
+     *
+     * @param value needed to be added to the back of the deque
+     */
+    public void addLast(long value) {
+        if (size == deque.length)
+            resize(deque.length * 2);
+
+        deque[(head + size) & (deque.length - 1)] = value;
+        size++;
+    }
+
+    /**
+     * Remove and return the first value in the deque. If the deque is empty, throw a NoSuchElementException. If the
+     * size of the deque is less than 1/4 of its capacity after the removal, resize the deque to 1/2 of its current
+     * capacity
+     *
+     * @return first value of the deque
+     * @throws NoSuchElementException if the deque is empty
+     */
+    public long removeFirst() {
+        if (isEmpty())
+            throw new NoSuchElementException("LongDeque.removeFirst(): Queue is empty!");
+
+        long value = deque[head];
+        head = (head + 1) & (deque.length - 1);
+        size--;
+
+        if (size < deque.length / 4 && deque.length > MIN_CAPACITY)
+            resize(deque.length / 2);
+
+        return value;
+    }
+
+    /**
+     * Remove and return the last value in the deque. If the deque is empty, throw a NoSuchElementException. If the
+     * size of the deque is less than 1/4 of its capacity after the removal, resize the deque to 1/2 of its current
+     * capacity
+     *
+     * @return last value of the deque
+     * @throws NoSuchElementException if the deque is empty
+     */
+    public long removeLast() {
+        if (isEmpty())
+            throw new NoSuchElementException("LongDeque.removeLast(): Queue is empty!");
+
+        size--;
+        long value = deque[(head + size) & (deque.length - 1)];
+
+        if (size < deque.length / 4 && deque.length > MIN_CAPACITY)
+            resize(deque.length / 2);
+
+        return value;
+    }
+
+    /**
+     * Resize the deque's array to its new capacity, unwrapping the values so that the first one is at index 0
+     *
+     * @param capacity deque's new capacity, a power of two no less than size
+     */
+    private void resize(int capacity) {
+        long[] copy = new long[capacity];
+        int tail = Math.min(size, deque.length - head);
+        System.arraycopy(deque, head, copy, 0, tail);
+        System.arraycopy(deque, 0, copy, tail, size - tail);
+        deque = copy;
+        head = 0;
+    }
+
+    /**
+     * Iterate over the values in order from front to back. Call nextLong() on the iterator to get them without
+     * boxing; a for-each loop boxes every value
+     *
+     * @return an iterator over values in order from front to back
+     */
+    public PrimitiveIterator.OfLong iterator() {
+        return new DequeIterator();
+    }
+
+    private class DequeIterator implements PrimitiveIterator.OfLong {
+        private int current = 0;
+
+        public boolean hasNext() {
+            return current < size;
+        }
+
+        public long nextLong() {
+            if (!hasNext())
+                throw new NoSuchElementException(
+                        "LongDeque.Iterator.nextLong(): There is no more element to return!");
+            return deque[(head + current++) & (deque.length - 1)];
+        }
+
+        public void remove() {
+            throw new UnsupportedOperationException("LongDeque.Iterator.remove(): Method is unsupported!");
+        }
+    }
+
+    /**
+     * Unit testing
+     *
+     * @param args arguments got passed on while using the terminal
+     */
+    public static void main(String[] args) {
+        LongDeque deque = new LongDeque();
+
+        System.out.println("Testing addFirst() and addLast(): add values outside the int range, Long.MIN_VALUE and " +
+                "2^31 to the front, -2^31 - 1 and Long.MAX_VALUE to the back. Should print them back unchanged");
+        deque.addFirst(1L << 31);
+        deque.addFirst(Long.MIN_VALUE);
+        deque.addLast(-(1L << 31) - 1);
+        deque.addLast(Long.MAX_VALUE);
+        System.out.print("Deque: ");
+        for (PrimitiveIterator.OfLong it = deque.iterator(); it.hasNext(); )
+            System.out.print(it.nextLong() + "->");
+        System.out.println();
+        System.out.println("-----------------------------------------------------------------------------------------");
+
+        System.out.println("Testing resize(): add 1,000 nanosecond timestamps from 2^40 on to the back, then remove " +
+                "998 from the front. Should grow and shrink back without truncating any of them");
+        while (!deque.isEmpty())
+            deque.removeLast();
+        long start = 1L << 40;
+        for (long i = 0; i < 1_000; i++)
+            deque.addLast(start + i);
+        boolean exact = true;
+        for (long i = 0; i < 998; i++)
+            exact &= deque.removeFirst() == start + i;
+        System.out.println("Removed exactly: " + exact + ", left: " + deque.removeFirst() + " " + deque.removeFirst());
+        System.out.println("-----------------------------------------------------------------------------------------");
+
+        System.out.println("Testing removeFirst(): remove from an empty deque. Should throw a NoSuchElementException");
+        try {
+            deque.removeFirst();
+        } catch (NoSuchElementException e) {
+            System.out.println(e);
+        }
+        System.out.println("-----------------------------------------------------------------------------------------");
+    }
+}
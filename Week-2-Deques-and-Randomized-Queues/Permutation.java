@@ -1,25 +1,53 @@
 import edu.princeton.cs.algs4.StdIn;
-import java.util.Iterator;
+import edu.princeton.cs.algs4.StdRandom;
 
 public class Permutation {
     public static void main(String[] args) {
-        String input;
         int k = Integer.parseInt(args[0]);
-        RandomizedQueue<String> d = new RandomizedQueue<>();
 
-        // TODO: there is way to limit the size the queue (regardless of whether it is a Deque or a RandomizedQueue)
-        //  to k
+        // Keep only k of the strings read, a uniformly random subset, so the queue never holds more than k items
+        // whatever the size of the input (reservoir sampling, Li's Algorithm L). Once the queue is full, skip a
+        // geometrically distributed number of strings and swap the next one in: dequeuing then enqueuing replaces an
+        // item chosen uniformly at random. The queue's iterator then hands them back in a uniformly random order
+        RandomizedQueue<String> reservoir = new RandomizedQueue<>();
+        double w = 1;
+        long skip = 0;
         while (!StdIn.isEmpty()) {
-            input = StdIn.readString();
-            d.enqueue(input);
+            String input = StdIn.readString();
+            if (reservoir.size() < k) {
+                reservoir.enqueue(input);
+                if (reservoir.size() == k) {
+                    w = Math.exp(Math.log(random()) / k);
+                    skip = skip(w);
+                }
+            } else if (k > 0) {
+                if (skip > 0) {
+                    skip--;
+                } else {
+                    reservoir.dequeue();
+                    reservoir.enqueue(input);
+                    w *= Math.exp(Math.log(random()) / k);
+                    skip = skip(w);
+                }
+            }
         }
 
-        int i = 0;
-        Iterator<String> dIterator =  d.iterator();
-        while (i < k && dIterator.hasNext()) {
-            String toPrint = dIterator.next();
+        for (String toPrint : reservoir)
             System.out.println(toPrint);
-            i++;
-        }
     }
-}
\ No newline at end of file
+
+    /**
+     * @return a uniformly random double in (0, 1], which has a finite logarithm
+     */
+    private static double random() {
+        return 1 - StdRandom.uniform();
+    }
+
+    /**
+     * @param w probability that a string is skipped
+     * @return number of strings to skip before the next one to keep, geometrically distributed
+     */
+    private static long skip(double w) {
+        return (long) Math.floor(Math.log(random()) / Math.log1p(-w));
+    }
+}
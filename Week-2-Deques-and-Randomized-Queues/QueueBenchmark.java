@@ -0,0 +1,211 @@
+import java.util.PrimitiveIterator;
+
+/**
+ * Benchmark client for Deque, ResizingArrayDeque, UnrolledDeque, IntDeque, LongDeque and
+ * RandomizedQueue. For every size n given as argument (10,000, 100,000 and 1,000,000 by default)
+ * it times filling a queue with n items, iterating over it and emptying it again, for every end of
+ * every deque and for RandomizedQueue, and reports the time per item. LongDeque is compared with a
+ * Deque<Long> that boxes every value on the way in. Every measurement is repeated WARMUP_ROUNDS
+ * times to let the JIT compile the code, then timed over MEASURED_ROUNDS rounds and averaged.
+ */
+public class QueueBenchmark {
+
+    private static final int WARMUP_ROUNDS = 3;
+    private static final int MEASURED_ROUNDS = 5;
+    // First of the job IDs queued by the LongDeque runs, far beyond the cache of boxed Longs
+    private static final long JOB_IDS = 1L << 40;
+
+    private static final Benchmark BENCHMARK = new Benchmark(WARMUP_ROUNDS, MEASURED_ROUNDS);
+
+    private static void report(String name, int n, double nanos) {
+        System.out.printf("n = %,10d  %-40s %8.2f ns/item%n", n, name, nanos / n);
+    }
+
+    /**
+     * Benchmark client
+     *
+     * @param args Number of items
+     */
+    public static void main(String[] args) {
+        int[] sizes = {10_000, 100_000, 1_000_000};
+        if (args.length > 0) {
+            sizes = new int[args.length];
+            for (int i = 0; i < args.length; i++)
+                sizes[i] = Integer.parseInt(args[i]);
+        }
+
+        for (int n : sizes) {
+            Integer[] items = new Integer[n];
+            for (int i = 0; i < n; i++)
+                items[i] = i;
+
+            report("Deque addLast + removeFirst", n, BENCHMARK.time(() -> {
+                Deque<Integer> deque = new Deque<>();
+                for (Integer item : items)
+                    deque.addLast(item);
+                long sum = 0;
+                while (!deque.isEmpty())
+                    sum += deque.removeFirst();
+                return sum;
+            }));
+            report("Deque addFirst + removeLast", n, BENCHMARK.time(() -> {
+                Deque<Integer> deque = new Deque<>();
+                for (Integer item : items)
+                    deque.addFirst(item);
+                long sum = 0;
+                while (!deque.isEmpty())
+                    sum += deque.removeLast();
+                return sum;
+            }));
+            report("Deque iterator", n, BENCHMARK.time(() -> {
+                Deque<Integer> deque = new Deque<>();
+                for (Integer item : items)
+                    deque.addLast(item);
+                long sum = 0;
+                for (Integer item : deque)
+                    sum += item;
+                return sum;
+            }));
+            report("Deque addAllLast + drainTo", n, BENCHMARK.time(() -> {
+                Deque<Integer> deque = new Deque<>();
+                deque.addAllLast(items);
+                Integer[] drained = new Integer[n];
+                deque.drainTo(drained, n);
+                return drained[n - 1];
+            }));
+            report("ResizingArrayDeque addLast + removeFirst", n, BENCHMARK.time(() -> {
+                ResizingArrayDeque<Integer> deque = new ResizingArrayDeque<>();
+                for (Integer item : items)
+                    deque.addLast(item);
+                long sum = 0;
+                while (!deque.isEmpty())
+                    sum += deque.removeFirst();
+                return sum;
+            }));
+            report("ResizingArrayDeque addFirst + removeLast", n, BENCHMARK.time(() -> {
+                ResizingArrayDeque<Integer> deque = new ResizingArrayDeque<>();
+                for (Integer item : items)
+                    deque.addFirst(item);
+                long sum = 0;
+                while (!deque.isEmpty())
+                    sum += deque.removeLast();
+                return sum;
+            }));
+            report("ResizingArrayDeque iterator", n, BENCHMARK.time(() -> {
+                ResizingArrayDeque<Integer> deque = new ResizingArrayDeque<>();
+                for (Integer item : items)
+                    deque.addLast(item);
+                long sum = 0;
+                for (Integer item : deque)
+                    sum += item;
+                return sum;
+            }));
+            report("UnrolledDeque addLast + removeFirst", n, BENCHMARK.time(() -> {
+                UnrolledDeque<Integer> deque = new UnrolledDeque<>();
+                for (Integer item : items)
+                    deque.addLast(item);
+                long sum = 0;
+                while (!deque.isEmpty())
+                    sum += deque.removeFirst();
+                return sum;
+            }));
+            report("UnrolledDeque addFirst + removeLast", n, BENCHMARK.time(() -> {
+                UnrolledDeque<Integer> deque = new UnrolledDeque<>();
+                for (Integer item : items)
+                    deque.addFirst(item);
+                long sum = 0;
+                while (!deque.isEmpty())
+                    sum += deque.removeLast();
+                return sum;
+            }));
+            report("UnrolledDeque iterator", n, BENCHMARK.time(() -> {
+                UnrolledDeque<Integer> deque = new UnrolledDeque<>();
+                for (Integer item : items)
+                    deque.addLast(item);
+                long sum = 0;
+                for (Integer item : deque)
+                    sum += item;
+                return sum;
+            }));
+            report("IntDeque addLast + removeFirst", n, BENCHMARK.time(() -> {
+                IntDeque deque = new IntDeque();
+                for (int i = 0; i < n; i++)
+                    deque.addLast(i);
+                long sum = 0;
+                while (!deque.isEmpty())
+                    sum += deque.removeFirst();
+                return sum;
+            }));
+            report("IntDeque iterator", n, BENCHMARK.time(() -> {
+                IntDeque deque = new IntDeque();
+                for (int i = 0; i < n; i++)
+                    deque.addLast(i);
+                long sum = 0;
+                for (PrimitiveIterator.OfInt it = deque.iterator(); it.hasNext(); )
+                    sum += it.nextInt();
+                return sum;
+            }));
+            report("Deque<Long> boxing addLast + removeFirst", n, BENCHMARK.time(() -> {
+                Deque<Long> deque = new Deque<>();
+                for (long i = 0; i < n; i++)
+                    deque.addLast(JOB_IDS + i);
+                long sum = 0;
+                while (!deque.isEmpty())
+                    sum += deque.removeFirst();
+                return sum;
+            }));
+            report("LongDeque addLast + removeFirst", n, BENCHMARK.time(() -> {
+                LongDeque deque = new LongDeque();
+                for (long i = 0; i < n; i++)
+                    deque.addLast(JOB_IDS + i);
+                long sum = 0;
+                while (!deque.isEmpty())
+                    sum += deque.removeFirst();
+                return sum;
+            }));
+            report("LongDeque iterator", n, BENCHMARK.time(() -> {
+                LongDeque deque = new LongDeque();
+                for (long i = 0; i < n; i++)
+                    deque.addLast(JOB_IDS + i);
+                long sum = 0;
+                for (PrimitiveIterator.OfLong it = deque.iterator(); it.hasNext(); )
+                    sum += it.nextLong();
+                return sum;
+            }));
+            report("RandomizedQueue enqueue + dequeue", n, BENCHMARK.time(() -> {
+                RandomizedQueue<Integer> queue = new RandomizedQueue<>();
+                for (Integer item : items)
+                    queue.enqueue(item);
+                long sum = 0;
+                while (!queue.isEmpty())
+                    sum += queue.dequeue();
+                return sum;
+            }));
+            report("RandomizedQueue enqueueAll + drainTo", n, BENCHMARK.time(() -> {
+                RandomizedQueue<Integer> queue = new RandomizedQueue<>();
+                queue.enqueueAll(items);
+                Integer[] drained = new Integer[n];
+                queue.drainTo(drained, n);
+                return drained[n - 1];
+            }));
+            report("RandomizedQueue enqueue + sample", n, BENCHMARK.time(() -> {
+                RandomizedQueue<Integer> queue = new RandomizedQueue<>();
+                for (Integer item : items)
+                    queue.enqueue(item);
+                long sum = 0;
+                for (int i = 0; i < n; i++)
+                    sum += queue.sample();
+                return sum;
+            }));
+            report("RandomizedQueue iterator", n, BENCHMARK.time(() -> {
+                RandomizedQueue<Integer> queue = new RandomizedQueue<>();
+                for (Integer item : items)
+                    queue.enqueue(item);
+                long sum = 0;
+                for (Integer item : queue)
+                    sum += item;
+                return sum;
+            }));
+        }
+    }
+}
@@ -0,0 +1,201 @@
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+
+/**
+ * Bridges between java.util collections and the bulk operations of Deque and RandomizedQueue. The graded classes
+ * only take arrays, as the assignment forbids java.util collections in them, so these helpers go through their Item[]
+ * overloads: a collection is copied to an array once, and items are drained into an array in one call before being
+ * added to the collection
+ */
+public class QueueCollections {
+
+    private QueueCollections() {
+    }
+
+    /**
+     * Add every item of the collection to the front of the deque, keeping the order of its iterator
+     *
+     * @param deque deque receiving the items
+     * @param items needed to be added to the front of the deque
+     * @throws IllegalArgumentException if deque, items or any of its items is null
+     */
+    @SuppressWarnings("unchecked")
+    public static <Item> void addAllFirst(Deque<Item> deque, Collection<? extends Item> items) {
+        if (deque == null || items == null)
+            throw new IllegalArgumentException("QueueCollections.addAllFirst(): Argument(s) cannot be null!");
+        deque.addAllFirst((Item[]) items.toArray());
+    }
+
+    /**
+     * Add every item of the collection to the back of the deque, keeping the order of its iterator
+     *
+     * @param deque deque receiving the items
+     * @param items needed to be added to the back of the deque
+     * @throws IllegalArgumentException if deque, items or any of its items is null
+     */
+    @SuppressWarnings("unchecked")
+    public static <Item> void addAllLast(Deque<Item> deque, Collection<? extends Item> items) {
+        if (deque == null || items == null)
+            throw new IllegalArgumentException("QueueCollections.addAllLast(): Argument(s) cannot be null!");
+        deque.addAllLast((Item[]) items.toArray());
+    }
+
+    /**
+     * Add every item of the collection to the queue
+     *
+     * @param queue queue receiving the items
+     * @param items needed to be added to the queue
+     * @throws IllegalArgumentException if queue, items or any of its items is null
+     */
+    @SuppressWarnings("unchecked")
+    public static <Item> void enqueueAll(RandomizedQueue<Item> queue, Collection<? extends Item> items) {
+        if (queue == null || items == null)
+            throw new IllegalArgumentException("QueueCollections.enqueueAll(): Argument(s) cannot be null!");
+        queue.enqueueAll((Item[]) items.toArray());
+    }
+
+    /**
+     * Remove up to max items from the front of the deque and add them to the collection, in order. If the collection
+     * throws, e.g. because it is full or rejects an item, the rejected item and those after it are put back at the
+     * front of the deque, in order, and the exception is rethrown
+     *
+     * @param deque  deque giving the items
+     * @param target collection receiving the items
+     * @param max    maximum number of items to remove
+     * @return number of items removed
+     * @throws IllegalArgumentException if deque or target is null or max is negative
+     */
+    @SuppressWarnings("unchecked")
+    public static <Item> int drainTo(Deque<Item> deque, Collection<? super Item> target, int max) {
+        if (deque == null || target == null || max < 0)
+            throw new IllegalArgumentException("QueueCollections.drainTo(): Argument(s) out of bounds!");
+
+        Item[] drained = (Item[]) new Object[Math.min(max, deque.size())];
+        int count = deque.drainTo(drained, drained.length);
+        int added = 0;
+        try {
+            while (added < count) {
+                target.add(drained[added]);
+                added++;
+            }
+        } finally {
+            if (added < count)
+                deque.addAllFirst(slice(drained, added, count));
+        }
+        return added;
+    }
+
+    /**
+     * Remove up to max random items from the queue and add them to the collection. If the collection throws, e.g.
+     * because it is full or rejects an item, the items it has not accepted are put back in the queue, and the
+     * exception is rethrown
+     *
+     * @param queue  queue giving the items
+     * @param target collection receiving the items
+     * @param max    maximum number of items to remove
+     * @return number of items removed
+     * @throws IllegalArgumentException if queue or target is null or max is negative
+     */
+    @SuppressWarnings("unchecked")
+    public static <Item> int drainTo(RandomizedQueue<Item> queue, Collection<? super Item> target, int max) {
+        if (queue == null || target == null || max < 0)
+            throw new IllegalArgumentException("QueueCollections.drainTo(): Argument(s) out of bounds!");
+
+        Item[] drained = (Item[]) new Object[Math.min(max, queue.size())];
+        int count = queue.drainTo(drained, drained.length);
+        int added = 0;
+        try {
+            while (added < count) {
+                target.add(drained[added]);
+                added++;
+            }
+        } finally {
+            if (added < count)
+                queue.enqueueAll(slice(drained, added, count));
+        }
+        return added;
+    }
+
+    /**
+     * @param items array to copy from
+     * @param from  first index copied
+     * @param to    index after the last one copied
+     * @return a new array holding items[from] to items[to - 1]
+     */
+    @SuppressWarnings("unchecked")
+    private static <Item> Item[] slice(Item[] items, int from, int to) {
+        Item[] slice = (Item[]) new Object[to - from];
+        System.arraycopy(items, from, slice, 0, slice.length);
+        return slice;
+    }
+
+    public static void main(String[] args) {
+        System.out.println("Testing addAllFirst() and addAllLast(): add 4-6 to the back, then 1-3 to the front, then " +
+                "7-9 to the back, from lists. Should print 1->2->3->4->5->6->7->8->9->");
+        Deque<Integer> deque = new Deque<>();
+        addAllLast(deque, List.of(4, 5, 6));
+        addAllFirst(deque, List.of(1, 2, 3));
+        addAllLast(deque, List.of(7, 8, 9));
+        System.out.print("Deque: ");
+        for (Integer i : deque)
+            System.out.print(i + "->");
+        System.out.println();
+        System.out.println("-----------------------------------------------------------------------------------------");
+
+        System.out.println("Testing drainTo(): drain 4 items of the deque into a list, then the rest into another. " +
+                "Should print [1, 2, 3, 4] and [5, 6, 7, 8, 9]");
+        List<Integer> drained = new ArrayList<>();
+        drainTo(deque, drained, 4);
+        List<Integer> rest = new ArrayList<>();
+        drainTo(deque, rest, 10);
+        System.out.println(drained + " and " + rest);
+        System.out.println("Size of the deque: " + deque.size());
+        System.out.println("-----------------------------------------------------------------------------------------");
+
+        System.out.println("Testing drainTo(): drain 1-5 of the deque into a collection that only holds 2. Should " +
+                "throw an IllegalStateException and leave 3->4->5-> in the deque");
+        deque.addAllLast(new Integer[]{1, 2, 3, 4, 5});
+        try {
+            drainTo(deque, new ArrayBlockingQueue<>(2), 10);
+        } catch (IllegalStateException e) {
+            System.out.println(e);
+        }
+        System.out.print("Deque: ");
+        for (Integer i : deque)
+            System.out.print(i + "->");
+        System.out.println();
+        System.out.println("-----------------------------------------------------------------------------------------");
+
+        System.out.println("Testing enqueueAll() and drainTo(): enqueue 1-10 from a list, then drain them into a " +
+                "list. Every item from 1 to 10 should be drained exactly once");
+        RandomizedQueue<Integer> rq = new RandomizedQueue<>();
+        enqueueAll(rq, List.of(1, 2, 3, 4, 5, 6, 7, 8, 9, 10));
+        List<Integer> all = new ArrayList<>();
+        drainTo(rq, all, 10);
+        all.sort(null);
+        System.out.println(all);
+        System.out.println("Size of the queue: " + rq.size());
+        System.out.println("-----------------------------------------------------------------------------------------");
+
+        System.out.println("Testing drainTo(): drain 1-5 of the queue into a collection that only holds 2. Should " +
+                "throw an IllegalStateException, with 2 items in the collection and 3 left in the queue");
+        rq.enqueueAll(new Integer[]{1, 2, 3, 4, 5});
+        ArrayBlockingQueue<Integer> full = new ArrayBlockingQueue<>(2);
+        try {
+            drainTo(rq, full, 10);
+        } catch (IllegalStateException e) {
+            System.out.println(e);
+        }
+        System.out.println("Collection: " + full.size() + ", queue: " + rq.size());
+        System.out.println("-----------------------------------------------------------------------------------------");
+
+        System.out.println("Testing drainTo(): drain 0 items while iterating. Should print an item, the iterator " +
+                "staying valid");
+        Iterator<Integer> iterator = rq.iterator();
+        drainTo(rq, rest, 0);
+        System.out.println(iterator.next());
+    }
+}
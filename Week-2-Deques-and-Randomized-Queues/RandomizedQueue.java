@@ -1,12 +1,16 @@
 import edu.princeton.cs.algs4.StdRandom;
 
+import java.util.ConcurrentModificationException;
 import java.util.Iterator;
 import java.util.NoSuchElementException;
 
 public class RandomizedQueue<Item> implements Iterable<Item> {
 
+    private static final int SHUFFLE_BATCH = 64;
+
     private Item[] randomizedQueue;
     private int size;
+    private int modCount;
 
     /**
      * Construct an empty randomized queue
@@ -14,6 +18,7 @@ public class RandomizedQueue<Item> implements Iterable<Item> {
     public RandomizedQueue() {
         randomizedQueue = (Item[]) new Object[2];
         size = 0;
+        modCount = 0;
     }
 
     /**
@@ -49,6 +54,7 @@ public class RandomizedQueue<Item> implements Iterable<Item> {
 
         randomizedQueue[size] = item;
         size++;
+        modCount++;
     }
 
     /**
@@ -76,6 +82,7 @@ public class RandomizedQueue<Item> implements Iterable<Item> {
         int index = StdRandom.uniform(size);
         Item temp = randomizedQueue[index];
         randomizedQueue[index] = randomizedQueue[--size];
+        modCount++;
 
         if (size < randomizedQueue.length / 4)
             resize(randomizedQueue.length / 2);
@@ -96,6 +103,95 @@ public class RandomizedQueue<Item> implements Iterable<Item> {
     }
 
     /**
+     * Add every item of the array to the queue. Every item is checked before anything is added, so a null item leaves
+     * the queue untouched. The capacity is doubled as many times as needed to fit every item at once, so the queue is
+     * resized at most once, and the items are copied in with a single System.arraycopy
+     *
+     * @param items needed to be added to the queue
+     * @throws IllegalArgumentException if items or any of its items is null
+     */
+    public void enqueueAll(Item[] items) {
+        if (items == null)
+            throw new IllegalArgumentException("RandomizedQueue.enqueueAll(): Array cannot be null!");
+        for (Item item : items)
+            if (item == null)
+                throw new IllegalArgumentException("RandomizedQueue.enqueueAll(): Item cannot be null!");
+
+        int capacity = randomizedQueue.length;
+        while (capacity < size + items.length)
+            capacity *= 2;
+        if (capacity != randomizedQueue.length)
+            resize(capacity);
+
+        System.arraycopy(items, 0, randomizedQueue, size, items.length);
+        size += items.length;
+        modCount++;
+    }
+
+    /**
+     * Remove up to max random items and put them in the array, starting at index 0. No more items are removed than
+     * the array can hold. The items are picked by a partial Fisher-Yates shuffle that moves them to the end of the
+     * queue's array, so they are a uniformly random selection in a random order, as with repeated dequeue() calls.
+     * They are then copied out with a single System.arraycopy, and the queue is shrunk at most once
+     *
+     * @param target array receiving the items
+     * @param max    maximum number of items to remove
+     * @return number of items removed
+     * @throws IllegalArgumentException if target is null or max is negative
+     */
+    public int drainTo(Item[] target, int max) {
+        if (target == null || max < 0)
+            throw new IllegalArgumentException("RandomizedQueue.drainTo(): Argument(s) out of bounds!");
+
+        int count = Math.min(Math.min(max, size), target.length);
+        if (count == 0)
+            return 0;
+        pickLast(count);
+        System.arraycopy(randomizedQueue, size - count, target, 0, count);
+        removeLast(count);
+        return count;
+    }
+
+    /**
+     * Move count random items to the last count slots of the queue's array, by swapping a random item of the not yet
+     * picked ones into every slot from the end
+     *
+     * @param count number of items to pick
+     */
+    private void pickLast(int count) {
+        for (int i = size - 1; i >= size - count; i--) {
+            int index = StdRandom.uniform(i + 1);
+            Item temp = randomizedQueue[index];
+            randomizedQueue[index] = randomizedQueue[i];
+            randomizedQueue[i] = temp;
+        }
+    }
+
+    /**
+     * Clear the last count slots of the queue's array and decrement the size by count. Then halve the capacity as
+     * many times as dequeue() would have, in a single resize. modCount changes even if count is 0, as pickLast() has
+     * moved items around
+     *
+     * @param count number of items removed
+     */
+    private void removeLast(int count) {
+        for (int i = size - count; i < size; i++)
+            randomizedQueue[i] = null;
+        size -= count;
+        modCount++;
+
+        int capacity = randomizedQueue.length;
+        while (size < capacity / 4)
+            capacity /= 2;
+        if (capacity != randomizedQueue.length)
+            resize(capacity);
+    }
+
+    /**
+     * Iterate over the items in a random order, independent of any other iterator. Nothing is copied up front: the
+     * iterator runs a Fisher-Yates shuffle of the positions 0 to size - 1 one step per next() call, so taking the first
+     * k items costs O(k). The iterator reads the queue's own array, so it is fail-fast: next() throws a
+     * ConcurrentModificationException if the queue has been modified since the iterator was created
      *
      * @return an independent iterator over items in random order
      */
@@ -104,25 +200,79 @@ public class RandomizedQueue<Item> implements Iterable<Item> {
     }
 
     private class RandomizedQueueIterator implements Iterator<Item> {
-        private int iterSize = size;
-        private final Item[] copy = copy(randomizedQueue);
+        private final int expectedModCount = modCount;
+        private final int iterSize = size;
+        private int returned = 0;
 
-        private Item[] copy(Item[] origin) {
-            Object[] copy = new Object[iterSize];
-            System.arraycopy(origin, 0, copy, 0, iterSize);
-            StdRandom.shuffle(copy);
-            return (Item[]) copy;
-        }
+        // Positions of the shuffle that no longer hold their own index, as long as the shuffle is sparse
+        private PositionMap swapped = new PositionMap();
+        // Items still to be drawn, copied out of the queue once more than 1/64 of them have been drawn
+        private Item[] remaining;
+        // Items of remaining before shuffled have been drawn already, returned or not
+        private int shuffled;
 
         public boolean hasNext() {
-            return iterSize > 0;
+            return returned < iterSize;
         }
 
+        /**
+         * Return the item at a random position among the iterSize - returned not drawn yet, as one step of a
+         * Fisher-Yates shuffle. The step is taken by drawSparse() while the shuffle is sparse, then by shuffleBatch()
+         */
         public Item next() {
-            if (iterSize == 0)
+            if (modCount != expectedModCount)
+                throw new ConcurrentModificationException(
+                        "RandomizedQueue.iterator().next(): Queue has been modified!");
+            if (!hasNext())
                 throw new NoSuchElementException(
                         "RandomizedQueue.iterator().next(): There is no more element to return!");
-            return copy[--iterSize];
+
+            if (remaining == null)
+                return drawSparse();
+            if (returned == shuffled)
+                shuffleBatch();
+            return remaining[returned++];
+        }
+
+        /**
+         * Draw a random position, swap it with the one at index returned and return the item at the drawn position,
+         * keeping only the positions that have moved, in swapped, so the iterator uses O(k) memory after k calls. Once
+         * more than 1/64 of the items have been drawn, the rest of the iteration is likely to need all of them, so the
+         * items not drawn yet are copied into remaining
+         *
+         * @return item at the drawn position
+         */
+        private Item drawSparse() {
+            int drawn = returned + StdRandom.uniform(iterSize - returned);
+            Item item = randomizedQueue[swapped.get(drawn)];
+            swapped.put(drawn, swapped.get(returned));
+            swapped.remove(returned);
+            returned++;
+
+            if (returned > iterSize >>> 6) {
+                remaining = (Item[]) new Object[iterSize];
+                System.arraycopy(randomizedQueue, returned, remaining, returned, iterSize - returned);
+                for (int i = 0; i < swapped.keys.length; i++)
+                    if (swapped.keys[i] != 0)
+                        remaining[swapped.keys[i] - 1] = randomizedQueue[swapped.values[i]];
+                swapped = null;
+                shuffled = returned;
+            }
+            return item;
+        }
+
+        /**
+         * Take the next SHUFFLE_BATCH steps of the shuffle in remaining at once, as StdRandom.shuffle() would. The
+         * random reads of a batch do not wait on each other nor on the caller, so they overlap in memory
+         */
+        private void shuffleBatch() {
+            shuffled = Math.min(shuffled + SHUFFLE_BATCH, iterSize);
+            for (int i = returned; i < shuffled; i++) {
+                int drawn = i + StdRandom.uniform(iterSize - i);
+                Item temp = remaining[drawn];
+                remaining[drawn] = remaining[i];
+                remaining[i] = temp;
+            }
         }
 
         public void remove() {
@@ -130,6 +280,92 @@ public class RandomizedQueue<Item> implements Iterable<Item> {
         }
     }
 
+    /**
+     * Map from positions to positions, for the sparse phase of the iterator's shuffle. Open addressing with linear
+     * probing over two int arrays, so get() and put() neither box nor allocate; the arrays double when half full.
+     * A key is stored as position + 1 so that 0 marks an empty slot, and an absent position maps to itself
+     */
+    private static class PositionMap {
+        private int[] keys = new int[16];
+        private int[] values = new int[16];
+        private int entries = 0;
+        // 32 - log2(keys.length), so that home() keeps as many bits of the product as the table has slots
+        private int shift = 28;
+
+        /**
+         * Fibonacci hashing: the top log2(keys.length) bits of position * 2^32 / golden ratio, which spread consecutive
+         * positions over the whole table whatever its size
+         *
+         * @param position key
+         * @return home slot of the key
+         */
+        private int home(int position) {
+            return position * 0x9E3779B9 >>> shift;
+        }
+
+        private int slot(int position) {
+            int mask = keys.length - 1;
+            int i = home(position);
+            while (keys[i] != 0 && keys[i] != position + 1)
+                i = (i + 1) & mask;
+            return i;
+        }
+
+        int get(int position) {
+            int i = slot(position);
+            return keys[i] == 0 ? position : values[i];
+        }
+
+        void put(int position, int value) {
+            int i = slot(position);
+            if (keys[i] == 0) {
+                if (2 * (entries + 1) > keys.length) {
+                    grow();
+                    i = slot(position);
+                }
+                keys[i] = position + 1;
+                entries++;
+            }
+            values[i] = value;
+        }
+
+        /**
+         * Remove the position, then shift back the entries of its probe sequence so that none is left behind an
+         * empty slot
+         */
+        void remove(int position) {
+            int i = slot(position);
+            if (keys[i] == 0)
+                return;
+            entries--;
+            int mask = keys.length - 1;
+            for (int j = (i + 1) & mask; keys[j] != 0; j = (j + 1) & mask) {
+                int home = home(keys[j] - 1);
+                if (((j - home) & mask) >= ((j - i) & mask)) {
+                    keys[i] = keys[j];
+                    values[i] = values[j];
+                    i = j;
+                }
+            }
+            keys[i] = 0;
+        }
+
+        private void grow() {
+            int[] oldKeys = keys;
+            int[] oldValues = values;
+            keys = new int[oldKeys.length * 2];
+            values = new int[oldValues.length * 2];
+            shift--;
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldKeys[i] != 0) {
+                    int j = slot(oldKeys[i] - 1);
+                    keys[j] = oldKeys[i];
+                    values[j] = oldValues[i];
+                }
+            }
+        }
+    }
+
     /**
      * Unit testing (required)
      *
@@ -207,5 +443,96 @@ public class RandomizedQueue<Item> implements Iterable<Item> {
         }
         System.out.println("Size of the queue: " + rq.size());
         System.out.println("-----------------------------------------------------------------------------------------");
+
+        System.out.println("Testing enqueueAll(): enqueue an array holding a null item. Should throw an " +
+                "IllegalArgumentException and leave the queue empty");
+        try {
+            rq.enqueueAll(new Integer[]{1, null, 3});
+        } catch (IllegalArgumentException e) {
+            System.out.println(e);
+        }
+        System.out.println("Size of the queue: " + rq.size());
+        System.out.println("-----------------------------------------------------------------------------------------");
+
+        System.out.println("Testing enqueueAll(): enqueue 1-5, then 6-10. Should invoke resize twice and the size of " +
+                "the queue should be 10");
+        rq.enqueueAll(new Integer[]{1, 2, 3, 4, 5});
+        rq.enqueueAll(new Integer[]{6, 7, 8, 9, 10});
+        System.out.println("Size of the queue: " + rq.size());
+        System.out.println("-----------------------------------------------------------------------------------------");
+
+        System.out.println("Testing drainTo(): drain 4 random items into an array, then the rest into another. Every " +
+                "item from 1 to 10 should be drained exactly once");
+        Integer[] drained = new Integer[4];
+        rq.drainTo(drained, 10);
+        Integer[] rest = new Integer[6];
+        rq.drainTo(rest, 10);
+        for (Integer i : drained)
+            System.out.print(i + " ");
+        System.out.print("and ");
+        for (Integer i : rest)
+            System.out.print(i + " ");
+        System.out.println();
+        System.out.println("Size of the queue: " + rq.size());
+        System.out.println("-----------------------------------------------------------------------------------------");
+
+        System.out.println("Testing iterator(): dequeue while iterating. Should throw a " +
+                "ConcurrentModificationException");
+        rq.enqueueAll(new Integer[]{1, 2, 3});
+        try {
+            for (Integer i : rq)
+                rq.dequeue();
+        } catch (ConcurrentModificationException e) {
+            System.out.println(e);
+        }
+        System.out.println("-----------------------------------------------------------------------------------------");
+
+        System.out.println("Testing iterator(): iterate over 0-4,999,999, whose sparse phase outgrows 65,536 slots. " +
+                "Should return every item once in about linear time");
+        RandomizedQueue<Integer> large = new RandomizedQueue<>();
+        for (int i = 0; i < 5_000_000; i++)
+            large.enqueue(i);
+        boolean[] seenLarge = new boolean[5_000_000];
+        int countLarge = 0;
+        boolean completeLarge = true;
+        long start = System.nanoTime();
+        for (int item : large) {
+            completeLarge &= !seenLarge[item];
+            seenLarge[item] = true;
+            countLarge++;
+        }
+        System.out.println("Complete: " + (completeLarge && countLarge == 5_000_000) + " in " +
+                (System.nanoTime() - start) / 1_000_000 + " ms");
+        System.out.println("-----------------------------------------------------------------------------------------");
+
+        System.out.println("Testing iterator(): iterate over 0-999 100,000 times. Every item should come out first " +
+                "about 100 times, and every iteration should return every item once");
+        RandomizedQueue<Integer> uniform = new RandomizedQueue<>();
+        for (int i = 0; i < 1_000; i++)
+            uniform.enqueue(i);
+        int[] firsts = new int[1_000];
+        boolean complete = true;
+        for (int round = 0; round < 100_000; round++) {
+            Iterator<Integer> iterator = uniform.iterator();
+            firsts[iterator.next()]++;
+            if (round % 1_000 == 0) {
+                boolean[] seen = new boolean[1_000];
+                int count = 0;
+                for (int item : uniform) {
+                    complete &= !seen[item];
+                    seen[item] = true;
+                    count++;
+                }
+                complete &= count == 1_000;
+            }
+        }
+        int fewest = Integer.MAX_VALUE;
+        int most = 0;
+        for (int count : firsts) {
+            fewest = Math.min(fewest, count);
+            most = Math.max(most, count);
+        }
+        System.out.println("Fewest and most times first: " + fewest + ", " + most + ". Complete: " + complete);
+        System.out.println("-----------------------------------------------------------------------------------------");
     }
 }
\ No newline at end of file
@@ -0,0 +1,177 @@
+import edu.princeton.cs.algs4.StdRandom;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+public class ReservoirSampler<Item> implements Iterable<Item> {
+
+    private final Item[] reservoir;
+    private long count;
+    private long next;
+    private double w;
+
+    /**
+     * Construct a sampler that keeps a uniformly random subset of k items out of a stream of unknown length, using
+     * O(k) memory however long the stream is. It implements Li's Algorithm L: the first k items fill the reservoir,
+     * and from then on the sampler draws how many items to skip before the next one that replaces a random item of
+     * the reservoir, instead of drawing a random number for every item as Algorithm R does. The number of random
+     * draws is thus O(k (1 + log(n / k))) for a stream of n items
+     *
+     * @param k number of items to keep
+     * @throws IllegalArgumentException if k is negative
+     */
+    public ReservoirSampler(int k) {
+        if (k < 0)
+            throw new IllegalArgumentException("ReservoirSampler.ReservoirSampler(): Argument cannot be negative!");
+
+        reservoir = (Item[]) new Object[k];
+        count = 0;
+        next = Long.MAX_VALUE;
+        w = 1;
+    }
+
+    /**
+     * Offer the next item of the stream. While the reservoir is not full, keep it. Once it is full, the item replaces
+     * a random item of the reservoir if it is the one the last skip landed on, in which case draw the next skip
+     *
+     * @param item next item of the stream
+     * @return true if the item has been kept in the reservoir, false otherwise
+     * @throws IllegalArgumentException if item is null
+     */
+    public boolean add(Item item) {
+        if (item == null)
+            throw new IllegalArgumentException("ReservoirSampler.add(): Item cannot be null!");
+
+        count++;
+        if (count <= reservoir.length) {
+            reservoir[(int) count - 1] = item;
+            if (count == reservoir.length) {
+                w = Math.exp(Math.log(random()) / reservoir.length);
+                next = count;
+                skip();
+            }
+            return true;
+        }
+        if (count != next)
+            return false;
+
+        reservoir[StdRandom.uniform(reservoir.length)] = item;
+        w *= Math.exp(Math.log(random()) / reservoir.length);
+        skip();
+        return true;
+    }
+
+    /**
+     * Move next past a geometrically distributed number of items, each item being kept with probability 1 - w
+     */
+    private void skip() {
+        double skipped = Math.floor(Math.log(random()) / Math.log1p(-w));
+        if (Double.isNaN(skipped) || skipped < 0)
+            skipped = 0;
+        next = skipped >= Long.MAX_VALUE - next - 1 ? Long.MAX_VALUE : next + (long) skipped + 1;
+    }
+
+    /**
+     * @return a uniformly random double in (0, 1], which has a finite logarithm
+     */
+    private static double random() {
+        return 1 - StdRandom.uniform();
+    }
+
+    /**
+     * @return number of items offered so far
+     */
+    public long count() {
+        return count;
+    }
+
+    /**
+     * @return number of items in the reservoir, the smaller of k and count()
+     */
+    public int size() {
+        return (int) Math.min(count, reservoir.length);
+    }
+
+    /**
+     * Iterate over the reservoir in a uniformly random order. The reservoir is copied and shuffled, so this costs O(k)
+     * and later calls to add() do not affect the iterator
+     *
+     * @return an iterator over the sampled items in random order
+     */
+    public Iterator<Item> iterator() {
+        Object[] sample = new Object[size()];
+        System.arraycopy(reservoir, 0, sample, 0, sample.length);
+        StdRandom.shuffle(sample);
+        return new Iterator<Item>() {
+            private int current = 0;
+
+            public boolean hasNext() {
+                return current < sample.length;
+            }
+
+            public Item next() {
+                if (!hasNext())
+                    throw new NoSuchElementException(
+                            "ReservoirSampler.Iterator.next(): There is no more element to return!");
+                return (Item) sample[current++];
+            }
+
+            public void remove() {
+                throw new UnsupportedOperationException("ReservoirSampler.Iterator.remove(): Method is unsupported!");
+            }
+        };
+    }
+
+    /**
+     * Unit testing
+     *
+     * @param args arguments got passed on while using the terminal
+     */
+    public static void main(String[] args) {
+        System.out.println("Testing add(): add a null item. Should throw an IllegalArgumentException");
+        try {
+            new ReservoirSampler<Integer>(3).add(null);
+        } catch (IllegalArgumentException e) {
+            System.out.println(e);
+        }
+        System.out.println("-----------------------------------------------------------------------------------------");
+
+        System.out.println("Testing add(): sample 5 out of 3 items. Should print the 3 items");
+        ReservoirSampler<Integer> small = new ReservoirSampler<>(5);
+        for (int i = 1; i <= 3; i++)
+            small.add(i);
+        for (Integer i : small)
+            System.out.print(i + " ");
+        System.out.println();
+        System.out.println("-----------------------------------------------------------------------------------------");
+
+        System.out.println("Testing uniformity: sample 3 out of 0-9 100,000 times. Every item should be sampled " +
+                "about 30,000 times");
+        int[] sampled = new int[10];
+        for (int round = 0; round < 100_000; round++) {
+            ReservoirSampler<Integer> sampler = new ReservoirSampler<>(3);
+            for (int i = 0; i < 10; i++)
+                sampler.add(i);
+            for (Integer i : sampler)
+                sampled[i]++;
+        }
+        for (int i = 0; i < 10; i++)
+            System.out.print(i + ": " + sampled[i] + "  ");
+        System.out.println();
+        System.out.println("-----------------------------------------------------------------------------------------");
+
+        System.out.println("Testing streaming: sample 10 out of 100,000,000 items. Should keep only a few hundred of " +
+                "them along the way, and sample items from the whole range");
+        ReservoirSampler<Long> sampler = new ReservoirSampler<>(10);
+        long kept = 0;
+        for (long i = 0; i < 100_000_000L; i++)
+            if (sampler.add(i))
+                kept++;
+        System.out.println("Items kept along the way: " + kept);
+        System.out.print("Sample: ");
+        for (Long i : sampler)
+            System.out.print(i + " ");
+        System.out.println();
+        System.out.println("-----------------------------------------------------------------------------------------");
+    }
+}
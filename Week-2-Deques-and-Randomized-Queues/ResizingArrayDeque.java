@@ -0,0 +1,241 @@
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+public class ResizingArrayDeque<Item> implements Iterable<Item> {
+
+    private static final int MIN_CAPACITY = 2;
+
+    private Item[] deque;
+    private int head;
+    private int size;
+
+    /**
+     * Construct an empty deque. Items live in a circular array: the first item is at head and the others follow it,
+     * wrapping around the end of the array. The capacity is always a power of two, so an index wraps around with a
+     * mask instead of a modulo
+     */
+    public ResizingArrayDeque() {
+        deque = (Item[]) new Object[MIN_CAPACITY];
+        head = 0;
+        size = 0;
+    }
+
+    /**
+     * Is the deque empty?
+     *
+     * @return true if the size equals to 0, false otherwise
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * @return number of items on the deque
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Add the item to the front of the deque. If the item is null, throw an IllegalArgumentException. If the deque is
+     * full, double its capacity. Move head one slot back, wrapping around to the end of the array, and put the item
+     * there. Increment the size of the deque by 1
+     *
+     * @param item needed to be added to the front of the deque
+     * @throws IllegalArgumentException if item is null
+     */
+    public void addFirst(Item item) {
+        if (item == null)
+            throw new IllegalArgumentException("ResizingArrayDeque.addFirst(): Item cannot be null!");
+
+        if (size == deque.length)
+            resize(deque.length * 2);
+
+        head = (head - 1) & (deque.length - 1);
+        deque[head] = item;
+        size++;
+    }
+
+    /**
+     * Add the item to the back of the deque. If the item is null, throw an IllegalArgumentException. If the deque is
+     * full, double its capacity. Put the item in the slot right after the last item, wrapping around to the start of
+     * the array. Increment the size of the deque by 1
+     *
+     * @param item needed to be added to the back of the deque
+     * @throws IllegalArgumentException if item is null
+     */
+    public void addLast(Item item) {
+        if (item == null)
+            throw new IllegalArgumentException("ResizingArrayDeque.addLast(): Item cannot be null!");
+
+        if (size == deque.length)
+            resize(deque.length * 2);
+
+        deque[(head + size) & (deque.length - 1)] = item;
+        size++;
+    }
+
+    /**
+     * Remove and return the first item in the deque. If the deque is empty, throw a NoSuchElementException. Clear the
+     * slot at head so the item can be garbage collected, and move head one slot forward. If the size of the deque is
+     * less than 1/4 of its capacity after the removal, resize the deque to 1/2 of its current capacity
+     *
+     * @return first item of the deque
+     * @throws NoSuchElementException if the deque is empty
+     */
+    public Item removeFirst() {
+        if (isEmpty())
+            throw new NoSuchElementException("ResizingArrayDeque.removeFirst(): Queue is empty!");
+
+        Item item = deque[head];
+        deque[head] = null;
+        head = (head + 1) & (deque.length - 1);
+        size--;
+
+        if (size < deque.length / 4 && deque.length > MIN_CAPACITY)
+            resize(deque.length / 2);
+
+        return item;
+    }
+
+    /**
+     * Remove and return the last item in the deque. If the deque is empty, throw a NoSuchElementException. Clear the
+     * slot of the last item so it can be garbage collected. If the size of the deque is less than 1/4 of its capacity
+     * after the removal, resize the deque to 1/2 of its current capacity
+     *
+     * @return last item of the deque
+     * @throws NoSuchElementException if the deque is empty
+     */
+    public Item removeLast() {
+        if (isEmpty())
+            throw new NoSuchElementException("ResizingArrayDeque.removeLast(): Queue is empty!");
+
+        size--;
+        int index = (head + size) & (deque.length - 1);
+        Item item = deque[index];
+        deque[index] = null;
+
+        if (size < deque.length / 4 && deque.length > MIN_CAPACITY)
+            resize(deque.length / 2);
+
+        return item;
+    }
+
+    /**
+     * @return length of the deque's array
+     */
+    private int capacity() {
+        return deque.length;
+    }
+
+    /**
+     * Resize the deque's array to its new capacity, unwrapping the items so that the first one is at index 0. At most
+     * two copies are needed: from head to the end of the array, then from the start of the array
+     *
+     * @param capacity deque's new capacity, a power of two no less than size
+     */
+    private void resize(int capacity) {
+        Item[] copy = (Item[]) new Object[capacity];
+        int tail = Math.min(size, deque.length - head);
+        System.arraycopy(deque, head, copy, 0, tail);
+        System.arraycopy(deque, 0, copy, tail, size - tail);
+        deque = copy;
+        head = 0;
+    }
+
+    /**
+     * @return an iterator over items in order from front to back
+     */
+    public Iterator<Item> iterator() {
+        return new DequeIterator();
+    }
+
+    private class DequeIterator implements Iterator<Item> {
+        private int current = 0;
+
+        public boolean hasNext() {
+            return current < size;
+        }
+
+        public Item next() {
+            if (!hasNext())
+                throw new NoSuchElementException(
+                        "ResizingArrayDeque.Iterator.next(): There is no more element to return!");
+            return deque[(head + current++) & (deque.length - 1)];
+        }
+
+        public void remove() {
+            throw new UnsupportedOperationException("ResizingArrayDeque.Iterator.remove(): Method is unsupported!");
+        }
+    }
+
+    /**
+     * Unit testing
+     *
+     * @param args arguments got passed on while using the terminal
+     */
+    public static void main(String[] args) {
+        ResizingArrayDeque<Integer> deque = new ResizingArrayDeque<>();
+
+        System.out.println("Testing addFirst(): add a null item to the deque. Should throw an " +
+                "IllegalArgumentException");
+        try {
+            deque.addFirst(null);
+        } catch (IllegalArgumentException e) {
+            System.out.println(e);
+        }
+        System.out.println("-----------------------------------------------------------------------------------------");
+
+        System.out.println("Testing addFirst() and addLast(): add 1-5 to the front and 6-10 to the back. Should wrap " +
+                "around the end of the array and resize thrice");
+        for (int i = 1; i <= 5; i++) {
+            deque.addFirst(i);
+            deque.addLast(i + 5);
+        }
+        System.out.print("Deque: ");
+        for (Integer i : deque)
+            System.out.print(i + "->");
+        System.out.println();
+        System.out.println("Size of the deque: " + deque.size());
+        System.out.println("-----------------------------------------------------------------------------------------");
+
+        System.out.println("Testing removeFirst() and removeLast(): remove every item from alternating ends. Should " +
+                "print 5 10 4 9 3 8 2 7 1 6 and shrink back");
+        while (!deque.isEmpty()) {
+            System.out.print(deque.removeFirst() + " ");
+            System.out.print(deque.removeLast() + " ");
+        }
+        System.out.println();
+        System.out.println("Size of the deque: " + deque.size());
+        System.out.println("-----------------------------------------------------------------------------------------");
+
+        System.out.println("Testing removeLast(): remove from an empty deque. Should throw a NoSuchElementException");
+        try {
+            deque.removeLast();
+        } catch (NoSuchElementException e) {
+            System.out.println(e);
+        }
+        System.out.println("-----------------------------------------------------------------------------------------");
+
+        System.out.println("Testing resize(): add 1-1,000 to the front, so that every resize unwraps items stored " +
+                "across the end of the array. Should print a capacity of 1024 and the items in order");
+        for (int i = 1; i <= 1_000; i++)
+            deque.addFirst(i);
+        int expected = 1_000;
+        boolean inOrder = true;
+        for (Integer i : deque)
+            inOrder &= i == expected--;
+        System.out.println("Capacity: " + deque.capacity() + ", 1000 to 1 in order: " + (inOrder && expected == 0));
+        System.out.println("-----------------------------------------------------------------------------------------");
+
+        System.out.println("Testing resize(): remove 998 items from the back. Should halve the capacity every time " +
+                "the deque gets below a quarter full, down to 8, and keep 1000->999->");
+        for (int i = 0; i < 998; i++)
+            deque.removeLast();
+        System.out.print("Capacity: " + deque.capacity() + ", deque: ");
+        for (Integer i : deque)
+            System.out.print(i + "->");
+        System.out.println();
+        System.out.println("-----------------------------------------------------------------------------------------");
+    }
+}
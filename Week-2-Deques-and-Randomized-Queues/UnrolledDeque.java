@@ -0,0 +1,335 @@
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+public class UnrolledDeque<Item> implements Iterable<Item> {
+
+    private static final int DEFAULT_BLOCK_SIZE = 256;
+    private static final int MAX_SPARE_BLOCKS = 4;
+
+    private class Block {
+        Block previous;
+        Block next;
+        final Item[] items = (Item[]) new Object[blockSize];
+    }
+
+    private final int blockSize;
+    private Block first;
+    private Block last;
+    private int firstIndex;
+    private int lastIndex;
+    private int size;
+
+    private Block spare;
+    private int spareCount;
+
+    /**
+     * Construct an empty deque with blocks of DEFAULT_BLOCK_SIZE slots
+     */
+    public UnrolledDeque() {
+        this(DEFAULT_BLOCK_SIZE);
+    }
+
+    /**
+     * Construct an empty deque. Items live in a doubly-linked list of fixed-size blocks: the first item is at
+     * firstIndex in the first block and the last item is right before lastIndex in the last block, every block in
+     * between being full. Adding at an end that has no room left links one more block, and removing the last item of
+     * an end block unlinks it, so every operation is O(1) in the worst case and nothing is ever copied. Unlinked
+     * blocks are kept in a small pool of spare blocks and reused, so a deque that grows and shrinks around the same
+     * size stops allocating. The single block of an empty deque is used from its middle, so it can grow either way
+     *
+     * @param blockSize number of slots per block, at least 2
+     * @throws IllegalArgumentException if blockSize is less than 2
+     */
+    public UnrolledDeque(int blockSize) {
+        if (blockSize < 2)
+            throw new IllegalArgumentException("UnrolledDeque.UnrolledDeque(): Block size cannot be less than 2!");
+
+        this.blockSize = blockSize;
+        first = new Block();
+        last = first;
+        firstIndex = blockSize / 2;
+        lastIndex = firstIndex;
+        size = 0;
+    }
+
+    /**
+     * Is the deque empty?
+     *
+     * @return true if the size equals to 0, false otherwise
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * @return number of items on the deque
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Add the item to the front of the deque. If the item is null, throw an IllegalArgumentException. If the first
+     * block has no room left in front, link a block before it. Put the item right before the current first item.
+     * Increment the size of the deque by 1
+     *
+     * @param item needed to be added to the front of the deque
+     * @throws IllegalArgumentException if item is null
+     */
+    public void addFirst(Item item) {
+        if (item == null)
+            throw new IllegalArgumentException("UnrolledDeque.addFirst(): Item cannot be null!");
+
+        if (firstIndex == 0) {
+            Block block = obtainBlock();
+            block.next = first;
+            first.previous = block;
+            first = block;
+            firstIndex = blockSize;
+        }
+
+        first.items[--firstIndex] = item;
+        size++;
+    }
+
+    /**
+     * Add the item to the back of the deque. If the item is null, throw an IllegalArgumentException. If the last block
+     * has no room left at the back, link a block after it. Put the item right after the current last item. Increment
+     * the size of the deque by 1
+     *
+     * @param item needed to be added to the back of the deque
+     * @throws IllegalArgumentException if item is null
+     */
+    public void addLast(Item item) {
+        if (item == null)
+            throw new IllegalArgumentException("UnrolledDeque.addLast(): Item cannot be null!");
+
+        if (lastIndex == blockSize) {
+            Block block = obtainBlock();
+            block.previous = last;
+            last.next = block;
+            last = block;
+            lastIndex = 0;
+        }
+
+        last.items[lastIndex++] = item;
+        size++;
+    }
+
+    /**
+     * Remove and return the first item in the deque. If the deque is empty, throw a NoSuchElementException. Clear its
+     * slot so the item can be garbage collected. If that emptied the first block and another block follows, unlink
+     * it and put it in the pool. If the deque is empty as the result, recenter the indices in the remaining block
+     *
+     * @return first item of the deque
+     * @throws NoSuchElementException if the deque is empty
+     */
+    public Item removeFirst() {
+        if (isEmpty())
+            throw new NoSuchElementException("UnrolledDeque.removeFirst(): Queue is empty!");
+
+        Item item = first.items[firstIndex];
+        first.items[firstIndex++] = null;
+        size--;
+
+        if (firstIndex == blockSize && first != last) {
+            Block block = first;
+            first = first.next;
+            first.previous = null;
+            firstIndex = 0;
+            releaseBlock(block);
+        }
+        if (isEmpty())
+            recenter();
+
+        return item;
+    }
+
+    /**
+     * Remove and return the last item in the deque. If the deque is empty, throw a NoSuchElementException. Clear its
+     * slot so the item can be garbage collected. If that emptied the last block and another block precedes it, unlink
+     * it and put it in the pool. If the deque is empty as the result, recenter the indices in the remaining block
+     *
+     * @return last item of the deque
+     * @throws NoSuchElementException if the deque is empty
+     */
+    public Item removeLast() {
+        if (isEmpty())
+            throw new NoSuchElementException("UnrolledDeque.removeLast(): Queue is empty!");
+
+        Item item = last.items[--lastIndex];
+        last.items[lastIndex] = null;
+        size--;
+
+        if (lastIndex == 0 && first != last) {
+            Block block = last;
+            last = last.previous;
+            last.next = null;
+            lastIndex = blockSize;
+            releaseBlock(block);
+        }
+        if (isEmpty())
+            recenter();
+
+        return item;
+    }
+
+    /**
+     * An empty deque is down to a single block. Move both indices back to its middle so that adding at either end
+     * does not link a new block right away
+     */
+    private void recenter() {
+        firstIndex = blockSize / 2;
+        lastIndex = firstIndex;
+    }
+
+    /**
+     * @return a block from the pool if there is one, a new block otherwise
+     */
+    private Block obtainBlock() {
+        if (spare == null)
+            return new Block();
+        Block block = spare;
+        spare = block.next;
+        spareCount--;
+        block.next = null;
+        return block;
+    }
+
+    /**
+     * Put an unlinked block in the pool, unless the pool already holds MAX_SPARE_BLOCKS blocks. Its slots have all
+     * been cleared on removal, so it holds no item
+     *
+     * @param block block that has just been unlinked
+     */
+    private void releaseBlock(Block block) {
+        block.previous = null;
+        block.next = null;
+        if (spareCount == MAX_SPARE_BLOCKS)
+            return;
+        block.next = spare;
+        spare = block;
+        spareCount++;
+    }
+
+    /**
+     * @return an iterator over items in order from front to back
+     */
+    public Iterator<Item> iterator() {
+        return new DequeIterator();
+    }
+
+    private class DequeIterator implements Iterator<Item> {
+        private Block block = first;
+        private int index = firstIndex;
+        private int remaining = size;
+
+        public boolean hasNext() {
+            return remaining > 0;
+        }
+
+        public Item next() {
+            if (!hasNext())
+                throw new NoSuchElementException(
+                        "UnrolledDeque.Iterator.next(): There is no more element to return!");
+            if (index == blockSize) {
+                block = block.next;
+                index = 0;
+            }
+            remaining--;
+            return block.items[index++];
+        }
+
+        public void remove() {
+            throw new UnsupportedOperationException("UnrolledDeque.Iterator.remove(): Method is unsupported!");
+        }
+    }
+
+    /**
+     * Unit testing
+     *
+     * @param args arguments got passed on while using the terminal
+     */
+    public static void main(String[] args) {
+        UnrolledDeque<Integer> deque = new UnrolledDeque<>(4);
+
+        System.out.println("Testing UnrolledDeque(): use blocks of 1 slot. Should throw an IllegalArgumentException");
+        try {
+            new UnrolledDeque<Integer>(1);
+        } catch (IllegalArgumentException e) {
+            System.out.println(e);
+        }
+        System.out.println("-----------------------------------------------------------------------------------------");
+
+        System.out.println("Testing addLast(): add a null item to the deque. Should throw an IllegalArgumentException");
+        try {
+            deque.addLast(null);
+        } catch (IllegalArgumentException e) {
+            System.out.println(e);
+        }
+        System.out.println("-----------------------------------------------------------------------------------------");
+
+        System.out.println("Testing addFirst() and addLast(): add 1-5 to the front and 6-10 to the back of a deque " +
+                "with blocks of 4 slots. Should link 4 more blocks");
+        for (int i = 1; i <= 5; i++) {
+            deque.addFirst(i);
+            deque.addLast(i + 5);
+        }
+        System.out.print("Deque: ");
+        for (Integer i : deque)
+            System.out.print(i + "->");
+        System.out.println();
+        System.out.println("Size of the deque: " + deque.size());
+        System.out.println("-----------------------------------------------------------------------------------------");
+
+        System.out.println("Testing removeFirst() and removeLast(): remove every item from alternating ends. Should " +
+                "print 5 10 4 9 3 8 2 7 1 6");
+        while (!deque.isEmpty()) {
+            System.out.print(deque.removeFirst() + " ");
+            System.out.print(deque.removeLast() + " ");
+        }
+        System.out.println();
+        System.out.println("Size of the deque: " + deque.size());
+        System.out.println("-----------------------------------------------------------------------------------------");
+
+        System.out.println("Testing removeFirst(): remove from an empty deque. Should throw a NoSuchElementException");
+        try {
+            deque.removeFirst();
+        } catch (NoSuchElementException e) {
+            System.out.println(e);
+        }
+        System.out.println("-----------------------------------------------------------------------------------------");
+
+        System.out.println("Testing recenter(): add 1 to the front and 2 to the back of the emptied deque. Should " +
+                "use the middle of its single block and link no block");
+        deque.addFirst(1);
+        deque.addLast(2);
+        System.out.println("Single block: " + (deque.first == deque.last) + ", first index: " + deque.firstIndex +
+                ", last index: " + deque.lastIndex);
+        deque.removeFirst();
+        deque.removeFirst();
+        System.out.println("-----------------------------------------------------------------------------------------");
+
+        System.out.println("Testing releaseBlock() and obtainBlock(): add 0-39 to the back, remove them all, then " +
+                "add them again. Should keep " + MAX_SPARE_BLOCKS + " spare blocks and reuse all of them");
+        for (int i = 0; i < 40; i++)
+            deque.addLast(i);
+        while (!deque.isEmpty())
+            deque.removeFirst();
+        Set<Object> spares = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (UnrolledDeque<Integer>.Block block = deque.spare; block != null; block = block.next)
+            spares.add(block);
+        System.out.println("Spare blocks: " + deque.spareCount);
+        for (int i = 0; i < 40; i++)
+            deque.addLast(i);
+        int reused = 0;
+        for (UnrolledDeque<Integer>.Block block = deque.first; block != null; block = block.next)
+            if (spares.contains(block))
+                reused++;
+        System.out.println("Spare blocks reused: " + reused + ", spare blocks left: " + deque.spareCount);
+        System.out.println("-----------------------------------------------------------------------------------------");
+    }
+}
@@ -0,0 +1,157 @@
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Contention benchmark for WorkStealingDeque against a Deque guarded by a single lock. For every thread count given
+ * as argument (1, 2, 4, 8, 16, 32 and 64 by default), one owner thread adds ITEMS items at the back of the deque and
+ * takes every other one back, while the other threads steal from the front until the owner is done and the deque is
+ * empty. It reports the time to get every item out and the resulting throughput. Every measurement is repeated
+ * WARMUP_ROUNDS times to let the JIT compile the code, then timed over MEASURED_ROUNDS rounds and averaged. On a
+ * machine with fewer cores than threads, the extra threads only add contention.
+ */
+public class WorkStealingBenchmark {
+
+    private static final int WARMUP_ROUNDS = 2;
+    private static final int MEASURED_ROUNDS = 3;
+    private static final int ITEMS = 1_000_000;
+
+    private static final Benchmark BENCHMARK = new Benchmark(WARMUP_ROUNDS, MEASURED_ROUNDS);
+
+    /**
+     * Run the workload on a WorkStealingDeque
+     *
+     * @param threads Number of threads, the owner included
+     * @param items   Items to add
+     * @return Number of items taken out, which must be ITEMS
+     */
+    private static long workStealing(int threads, Integer[] items) {
+        WorkStealingDeque<Integer> deque = new WorkStealingDeque<>();
+        AtomicBoolean done = new AtomicBoolean();
+        long[] taken = new long[threads];
+        Thread[] thieves = new Thread[threads - 1];
+        for (int t = 0; t < thieves.length; t++) {
+            int thief = t + 1;
+            thieves[t] = new Thread(() -> {
+                while (true) {
+                    if (deque.pollFirst() != null)
+                        taken[thief]++;
+                    else if (done.get() && deque.isEmpty())
+                        return;
+                    else
+                        Thread.onSpinWait();
+                }
+            });
+            thieves[t].start();
+        }
+
+        for (int i = 0; i < items.length; i++) {
+            deque.addLast(items[i]);
+            if (i % 2 == 1 && deque.pollLast() != null)
+                taken[0]++;
+        }
+        while (deque.pollLast() != null)
+            taken[0]++;
+        done.set(true);
+        return join(thieves, taken);
+    }
+
+    /**
+     * Run the workload on a Deque, every call being made while holding the deque's lock
+     *
+     * @param threads Number of threads, the owner included
+     * @param items   Items to add
+     * @return Number of items taken out, which must be ITEMS
+     */
+    private static long locked(int threads, Integer[] items) {
+        Deque<Integer> deque = new Deque<>();
+        AtomicBoolean done = new AtomicBoolean();
+        long[] taken = new long[threads];
+        Thread[] thieves = new Thread[threads - 1];
+        for (int t = 0; t < thieves.length; t++) {
+            int thief = t + 1;
+            thieves[t] = new Thread(() -> {
+                while (true) {
+                    boolean stolen = false;
+                    synchronized (deque) {
+                        if (!deque.isEmpty()) {
+                            deque.removeFirst();
+                            stolen = true;
+                        }
+                    }
+                    if (stolen)
+                        taken[thief]++;
+                    else if (done.get())
+                        return;
+                    else
+                        Thread.onSpinWait();
+                }
+            });
+            thieves[t].start();
+        }
+
+        for (int i = 0; i < items.length; i++) {
+            synchronized (deque) {
+                deque.addLast(items[i]);
+                if (i % 2 == 1 && !deque.isEmpty()) {
+                    deque.removeLast();
+                    taken[0]++;
+                }
+            }
+        }
+        while (true) {
+            synchronized (deque) {
+                if (deque.isEmpty())
+                    break;
+                deque.removeLast();
+            }
+            taken[0]++;
+        }
+        done.set(true);
+        return join(thieves, taken);
+    }
+
+    private static long join(Thread[] thieves, long[] taken) {
+        for (Thread thief : thieves) {
+            try {
+                thief.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("WorkStealingBenchmark.join(): Interrupted!", e);
+            }
+        }
+        long total = 0;
+        for (long count : taken)
+            total += count;
+        return total;
+    }
+
+    private static void report(String name, int threads, double nanos) {
+        System.out.printf("threads = %2d  %-20s %9.2f ms  %7.2f M items/s%n", threads, name, nanos / 1e6,
+                          ITEMS / nanos * 1e3);
+    }
+
+    /**
+     * Benchmark client
+     *
+     * @param args Thread counts
+     */
+    public static void main(String[] args) {
+        int[] threadCounts = {1, 2, 4, 8, 16, 32, 64};
+        if (args.length > 0) {
+            threadCounts = new int[args.length];
+            for (int i = 0; i < args.length; i++)
+                threadCounts[i] = Integer.parseInt(args[i]);
+        }
+
+        Integer[] items = new Integer[ITEMS];
+        for (int i = 0; i < ITEMS; i++)
+            items[i] = i;
+
+        System.out.println("available processors: " + Runtime.getRuntime().availableProcessors());
+        for (int threads : threadCounts) {
+            report("WorkStealingDeque", threads, BENCHMARK.time(() -> workStealing(threads, items)));
+            report("locked Deque", threads, BENCHMARK.time(() -> locked(threads, items)));
+        }
+        if (BENCHMARK.sink() != (long) ITEMS * (WARMUP_ROUNDS + MEASURED_ROUNDS) * 2 * threadCounts.length)
+            System.out.println("Items lost or taken twice!");
+    }
+}
@@ -0,0 +1,255 @@
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+public class WorkStealingDeque<Item> {
+
+    private static final int INITIAL_CAPACITY = 32;
+
+    private static final VarHandle TOP;
+    private static final VarHandle SLOTS = MethodHandles.arrayElementVarHandle(Object[].class);
+
+    static {
+        try {
+            TOP = MethodHandles.lookup().findVarHandle(WorkStealingDeque.class, "top", long.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private volatile Object[] deque;
+    private volatile long top;
+    private volatile long bottom;
+
+    /**
+     * Construct an empty work-stealing deque (Chase and Lev, "Dynamic Circular Work-Stealing Deque"). One thread, the
+     * owner, adds and removes items at the back with addLast() and removeLast(), like a stack. Any number of other
+     * threads, the thieves, take items from the front with removeFirst(). No method takes a lock.
+     *
+     * The items live in a circular array whose capacity is a power of two. top and bottom are ever-increasing
+     * positions, the items being at top to bottom - 1, masked into the array. Only the owner writes bottom and the
+     * array. Thieves claim an item with a compare-and-set of top, and the owner only races with them for the very
+     * last item, which it claims the same way. When the array is full, the owner copies the items into an array
+     * twice as large and publishes it; a thief still reading the old array reads the same items there
+     */
+    public WorkStealingDeque() {
+        deque = new Object[INITIAL_CAPACITY];
+        top = 0;
+        bottom = 0;
+    }
+
+    /**
+     * Is the deque empty? Other threads may change the deque at any time, so this is only a snapshot
+     *
+     * @return true if the size equals to 0, false otherwise
+     */
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * @return number of items on the deque, a snapshot if other threads are using it
+     */
+    public int size() {
+        long b = bottom;
+        long t = top;
+        return (int) Math.max(b - t, 0);
+    }
+
+    /**
+     * Add the item to the back of the deque. Must only be called by the owner. If the item is null, throw an
+     * IllegalArgumentException. If the array is full, grow it. Write the item into its slot before publishing it to
+     * thieves by moving bottom
+     *
+     * @param item needed to be added to the back of the deque
+     * @throws IllegalArgumentException if item is null
+     */
+    public void addLast(Item item) {
+        if (item == null)
+            throw new IllegalArgumentException("WorkStealingDeque.addLast(): Item cannot be null!");
+
+        long b = bottom;
+        long t = top;
+        Object[] array = deque;
+        if (b - t >= array.length)
+            array = grow(array, t, b);
+
+        SLOTS.setRelease(array, (int) b & (array.length - 1), item);
+        bottom = b + 1;
+    }
+
+    /**
+     * Copy the items into an array twice as large, at the same positions, and publish it
+     *
+     * @param array current array
+     * @param t     position of the first item
+     * @param b     position right after the last item
+     * @return new array
+     */
+    private Object[] grow(Object[] array, long t, long b) {
+        Object[] copy = new Object[array.length * 2];
+        for (long i = t; i < b; i++)
+            copy[(int) i & (copy.length - 1)] = SLOTS.getAcquire(array, (int) i & (array.length - 1));
+        deque = copy;
+        return copy;
+    }
+
+    /**
+     * Remove and return the last item in the deque. Must only be called by the owner
+     *
+     * @return last item of the deque
+     * @throws NoSuchElementException if the deque is empty
+     */
+    public Item removeLast() {
+        Item item = pollLast();
+        if (item == null)
+            throw new NoSuchElementException("WorkStealingDeque.removeLast(): Queue is empty!");
+        return item;
+    }
+
+    /**
+     * Remove and return the last item in the deque, or null if it is empty. Must only be called by the owner. Move
+     * bottom back first, so that thieves stop short of the item, then read top. If more than one item was left, the
+     * item is the owner's alone. If it was the last one, claim it with a compare-and-set of top, as a thief would, and
+     * put bottom back in line with top either way
+     *
+     * @return last item of the deque, or null if the deque is empty
+     */
+    public Item pollLast() {
+        long b = bottom - 1;
+        Object[] array = deque;
+        bottom = b;
+        long t = top;
+        if (t > b) {
+            bottom = b + 1;
+            return null;
+        }
+
+        int index = (int) b & (array.length - 1);
+        Item item = (Item) SLOTS.getAcquire(array, index);
+        if (t < b) {
+            SLOTS.setRelease(array, index, null);
+            return item;
+        }
+
+        if (!TOP.compareAndSet(this, t, t + 1))
+            item = null;
+        else
+            SLOTS.setRelease(array, index, null);
+        bottom = b + 1;
+        return item;
+    }
+
+    /**
+     * Remove and return the first item in the deque. Safe to call from any thread
+     *
+     * @return first item of the deque
+     * @throws NoSuchElementException if the deque is empty
+     */
+    public Item removeFirst() {
+        Item item = pollFirst();
+        if (item == null)
+            throw new NoSuchElementException("WorkStealingDeque.removeFirst(): Queue is empty!");
+        return item;
+    }
+
+    /**
+     * Remove and return the first item in the deque, or null if it is empty. Safe to call from any thread. Read top,
+     * then bottom, then the item, and claim it with a compare-and-set of top. If another thread claimed it first, try
+     * again with the next one. The slot is not cleared: by then the owner may have reused it for another reference to
+     * the very same item, so the old reference stays in the array until the owner overwrites it
+     *
+     * @return first item of the deque, or null if the deque is empty
+     */
+    public Item pollFirst() {
+        while (true) {
+            long t = top;
+            long b = bottom;
+            if (t >= b)
+                return null;
+
+            Object[] array = deque;
+            int index = (int) t & (array.length - 1);
+            Item item = (Item) SLOTS.getAcquire(array, index);
+            if (TOP.compareAndSet(this, t, t + 1))
+                return item;
+        }
+    }
+
+    /**
+     * Unit testing: one owner adds items and removes about a third of them at the back while thieves steal from the
+     * front. Every item should be removed exactly once
+     *
+     * @param args number of thieves and number of items
+     */
+    public static void main(String[] args) throws InterruptedException {
+        WorkStealingDeque<Integer> deque = new WorkStealingDeque<>();
+
+        System.out.println("Testing addLast(): add a null item to the deque. Should throw an IllegalArgumentException");
+        try {
+            deque.addLast(null);
+        } catch (IllegalArgumentException e) {
+            System.out.println(e);
+        }
+        System.out.println("-----------------------------------------------------------------------------------------");
+
+        System.out.println("Testing removeFirst(): remove from an empty deque. Should throw a NoSuchElementException");
+        try {
+            deque.removeFirst();
+        } catch (NoSuchElementException e) {
+            System.out.println(e);
+        }
+        System.out.println("-----------------------------------------------------------------------------------------");
+
+        System.out.println("Testing addLast(), removeLast() and removeFirst(): add 1-100, then remove from both " +
+                "ends. Should print 100 1 99 2");
+        for (int i = 1; i <= 100; i++)
+            deque.addLast(i);
+        System.out.println(deque.removeLast() + " " + deque.removeFirst() + " " + deque.removeLast() + " " +
+                deque.removeFirst());
+        while (!deque.isEmpty())
+            deque.removeLast();
+        System.out.println("-----------------------------------------------------------------------------------------");
+
+        int thieves = args.length > 0 ? Integer.parseInt(args[0]) : 4;
+        int n = args.length > 1 ? Integer.parseInt(args[1]) : 1_000_000;
+        System.out.println("Testing concurrency: the owner adds " + n + " items and removes some at the back while " +
+                thieves + " thieves steal. Every item should be removed exactly once");
+        byte[] removed = new byte[n];
+        AtomicBoolean done = new AtomicBoolean();
+        Thread[] workers = new Thread[thieves];
+        for (int i = 0; i < thieves; i++) {
+            workers[i] = new Thread(() -> {
+                while (true) {
+                    Integer item = deque.pollFirst();
+                    if (item != null)
+                        removed[item]++;
+                    else if (done.get() && deque.isEmpty())
+                        return;
+                }
+            });
+            workers[i].start();
+        }
+        for (int i = 0; i < n; i++) {
+            deque.addLast(i);
+            if (i % 3 == 0) {
+                Integer item = deque.pollLast();
+                if (item != null)
+                    removed[item]++;
+            }
+        }
+        done.set(true);
+        for (Thread worker : workers)
+            worker.join();
+        for (Integer item = deque.pollLast(); item != null; item = deque.pollLast())
+            removed[item]++;
+
+        int wrong = 0;
+        for (byte count : removed)
+            if (count != 1)
+                wrong++;
+        System.out.println("Items not removed exactly once: " + wrong);
+        System.out.println("-----------------------------------------------------------------------------------------");
+    }
+}
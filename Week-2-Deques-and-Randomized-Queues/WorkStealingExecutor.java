@@ -0,0 +1,464 @@
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+public class WorkStealingExecutor {
+
+    private static final int SPINS_BEFORE_PARKING = 64;
+
+    private final Worker[] workers;
+    private final ConcurrentLinkedQueue<Runnable> submissions;
+    private final AtomicLong pending;
+    private final AtomicInteger submitting;
+    private final AtomicReference<Throwable> failure;
+    private final Object quiescence;
+
+    private volatile boolean shutdown;
+
+    private class Worker extends Thread {
+        private final WorkStealingDeque<Runnable> tasks = new WorkStealingDeque<>();
+        private final AtomicBoolean parked = new AtomicBoolean();
+
+        Worker(int index) {
+            super("WorkStealingExecutor-worker-" + index);
+            setDaemon(true);
+        }
+
+        private WorkStealingExecutor executor() {
+            return WorkStealingExecutor.this;
+        }
+
+        /**
+         * Run tasks until the executor is shut down. Look for a task in this order: the back of the worker's own deque,
+         * so that the most recently forked task runs first while its data is still in cache; then the tasks submitted
+         * from outside; then the front of the other workers' deques, starting from a random victim, where the oldest
+         * and usually largest tasks are. Spin a little when there is nothing to do, then park until there is
+         */
+        public void run() {
+            int idle = 0;
+            while (!shutdown) {
+                Runnable task = tasks.pollLast();
+                if (task == null)
+                    task = submissions.poll();
+                if (task == null)
+                    task = steal();
+
+                if (task != null) {
+                    idle = 0;
+                    runTask(task);
+                } else if (++idle < SPINS_BEFORE_PARKING) {
+                    Thread.onSpinWait();
+                } else {
+                    idle = 0;
+                    park();
+                }
+            }
+        }
+
+        /**
+         * Announce the worker as parked, then park until signalWork() or shutdown() wakes it up. A task added right
+         * before the announcement would be missed by signalWork(), so look for one after announcing: the submitter
+         * writes its task then reads parked, the worker writes parked then looks for tasks, and one of them always
+         * sees the other's write
+         */
+        private void park() {
+            parked.set(true);
+            while (parked.get() && !shutdown && !hasTasks())
+                LockSupport.park(this);
+            parked.set(false);
+        }
+
+        private Runnable steal() {
+            int start = ThreadLocalRandom.current().nextInt(workers.length);
+            for (int i = 0; i < workers.length; i++) {
+                Worker victim = workers[(start + i) % workers.length];
+                if (victim == this)
+                    continue;
+                Runnable task = victim.tasks.pollFirst();
+                if (task != null)
+                    return task;
+            }
+            return null;
+        }
+    }
+
+    /**
+     * @return true if a task is waiting in the shared queue or in any worker's deque, false otherwise
+     */
+    private boolean hasTasks() {
+        if (!submissions.isEmpty())
+            return true;
+        for (Worker worker : workers)
+            if (!worker.tasks.isEmpty())
+                return true;
+        return false;
+    }
+
+    /**
+     * Wake up one parked worker, if any, to run or steal a task that has just been added
+     */
+    private void signalWork() {
+        for (Worker worker : workers) {
+            if (worker.parked.get() && worker.parked.compareAndSet(true, false)) {
+                LockSupport.unpark(worker);
+                return;
+            }
+        }
+    }
+
+    /**
+     * Start an executor with one worker thread per available processor
+     */
+    public WorkStealingExecutor() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Start an executor with the given number of worker threads. Every worker owns a WorkStealingDeque: a task
+     * submitted by a worker, typically a subtask forked by a running task, goes to the back of the worker's own deque,
+     * and the worker takes its next task from there too. A worker that runs out of tasks steals from the front of a
+     * random victim's deque. Tasks submitted from other threads go to a shared queue that every worker polls. A worker
+     * with nothing to do parks until a new task wakes it up, so an idle executor uses no CPU. The workers are daemon
+     * threads, so a forgotten executor does not keep the JVM alive
+     *
+     * @param parallelism number of worker threads
+     * @throws IllegalArgumentException if parallelism is less than or equals to 0
+     */
+    public WorkStealingExecutor(int parallelism) {
+        if (parallelism <= 0)
+            throw new IllegalArgumentException(
+                    "WorkStealingExecutor.WorkStealingExecutor(): Parallelism cannot be 0 or less!");
+
+        submissions = new ConcurrentLinkedQueue<>();
+        pending = new AtomicLong();
+        submitting = new AtomicInteger();
+        failure = new AtomicReference<>();
+        quiescence = new Object();
+        shutdown = false;
+        workers = new Worker[parallelism];
+        for (int i = 0; i < parallelism; i++)
+            workers[i] = new Worker(i);
+        for (Worker worker : workers)
+            worker.start();
+    }
+
+    /**
+     * @return number of worker threads
+     */
+    public int parallelism() {
+        return workers.length;
+    }
+
+    /**
+     * Submit a task. Safe to call from any thread, including from a running task to fork subtasks. The task counts as
+     * pending from now until it has run or shutdown() drops it, so awaitQuiescence() waits for it. Wake up a parked
+     * worker to run it, or to steal it from the submitting worker. The submission is announced in submitting before
+     * shutdown is checked, and shutdown() waits for announced submissions before dropping tasks: either this call sees
+     * the shutdown and throws, or shutdown() sees the task, so no task is added after the queues have been drained
+     *
+     * @param task needed to be run
+     * @throws IllegalArgumentException if task is null
+     * @throws IllegalStateException    if the executor has been shut down
+     */
+    public void submit(Runnable task) {
+        if (task == null)
+            throw new IllegalArgumentException("WorkStealingExecutor.submit(): Task cannot be null!");
+
+        submitting.incrementAndGet();
+        try {
+            if (shutdown)
+                throw new IllegalStateException("WorkStealingExecutor.submit(): Executor has been shut down!");
+            pending.incrementAndGet();
+            Worker worker = currentWorker();
+            if (worker != null)
+                worker.tasks.addLast(task);
+            else
+                submissions.add(task);
+        } finally {
+            submitting.decrementAndGet();
+        }
+        signalWork();
+    }
+
+    /**
+     * Run a task and mark it as done. A task that throws does not kill its worker: the first failure is kept and
+     * rethrown by the next awaitQuiescence()
+     *
+     * @param task needed to be run
+     */
+    private void runTask(Runnable task) {
+        try {
+            task.run();
+        } catch (Throwable t) {
+            failure.compareAndSet(null, t);
+        }
+        done(1);
+    }
+
+    /**
+     * Take tasks that have run or have been dropped off the pending count, and wake up awaitQuiescence() if none is
+     * left
+     *
+     * @param count number of tasks
+     */
+    private void done(long count) {
+        if (pending.addAndGet(-count) == 0) {
+            synchronized (quiescence) {
+                quiescence.notifyAll();
+            }
+        }
+    }
+
+    /**
+     * Wait until every submitted task has run, including the tasks they submitted themselves. Must not be called from
+     * a task, whose worker would wait for itself
+     *
+     * @throws IllegalStateException if called from a worker of this executor, if interrupted while waiting, or if a
+     *                               task has thrown since the last call, the first such exception being the cause
+     */
+    public void awaitQuiescence() {
+        if (currentWorker() != null)
+            throw new IllegalStateException(
+                    "WorkStealingExecutor.awaitQuiescence(): Cannot be called from a task!");
+
+        synchronized (quiescence) {
+            while (pending.get() != 0) {
+                try {
+                    quiescence.wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("WorkStealingExecutor.awaitQuiescence(): Interrupted!", e);
+                }
+            }
+        }
+
+        Throwable t = failure.getAndSet(null);
+        if (t != null)
+            throw new IllegalStateException("WorkStealingExecutor.awaitQuiescence(): A task has failed!", t);
+    }
+
+    /**
+     * Stop the workers once they finish their current task and wait for them to exit. Tasks that have not started are
+     * dropped and no longer count as pending, so awaitQuiescence() returns instead of waiting for them. Call
+     * awaitQuiescence() first to let them run. Submissions that started before the shutdown are waited for, so their
+     * tasks are dropped too rather than added after the drain. Must not be called from a task, whose worker would wait
+     * for itself
+     *
+     * @throws IllegalStateException if called from a worker of this executor
+     */
+    public void shutdown() {
+        if (currentWorker() != null)
+            throw new IllegalStateException("WorkStealingExecutor.shutdown(): Cannot be called from a task!");
+
+        shutdown = true;
+        for (Worker worker : workers) {
+            LockSupport.unpark(worker);
+            try {
+                worker.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+
+        while (submitting.get() != 0)
+            Thread.onSpinWait();
+
+        long dropped = 0;
+        while (submissions.poll() != null)
+            dropped++;
+        for (Worker worker : workers)
+            while (worker.tasks.pollFirst() != null)
+                dropped++;
+        if (dropped > 0)
+            done(dropped);
+    }
+
+    /**
+     * @return the worker of this executor running the current thread, null if the current thread is not one
+     */
+    private Worker currentWorker() {
+        Thread thread = Thread.currentThread();
+        if (thread instanceof WorkStealingExecutor.Worker && ((Worker) thread).executor() == this)
+            return (Worker) thread;
+        return null;
+    }
+
+    /**
+     * Add lo to hi - 1 to total, splitting the range in halves until it is small and forking the upper halves as new
+     * tasks, like a search that expands a node into subproblems
+     *
+     * @param executor executor running the tasks
+     * @param lo       first number of the range
+     * @param hi       number right after the last one of the range
+     * @param total    sum of every range
+     */
+    private static void sum(WorkStealingExecutor executor, long lo, long hi, LongAdder total) {
+        while (hi - lo > 1_000) {
+            long mid = (lo + hi) >>> 1;
+            long upper = hi;
+            executor.submit(() -> sum(executor, mid, upper, total));
+            hi = mid;
+        }
+        for (long i = lo; i < hi; i++)
+            total.add(i);
+    }
+
+    /**
+     * Unit testing
+     *
+     * @param args number of worker threads
+     */
+    public static void main(String[] args) {
+        int parallelism = args.length > 0 ? Integer.parseInt(args[0]) : 4;
+        WorkStealingExecutor executor = new WorkStealingExecutor(parallelism);
+
+        System.out.println("Testing submit(): submit a null task. Should throw an IllegalArgumentException");
+        try {
+            executor.submit(null);
+        } catch (IllegalArgumentException e) {
+            System.out.println(e);
+        }
+        System.out.println("-----------------------------------------------------------------------------------------");
+
+        System.out.println("Testing submit() and awaitQuiescence(): run 1,000 independent trials, each the mean of " +
+                "10,000 uniform numbers, from the main thread. Should print about 0.5");
+        double[] trials = new double[1_000];
+        for (int i = 0; i < trials.length; i++) {
+            int trial = i;
+            executor.submit(() -> {
+                double sum = 0;
+                for (int j = 0; j < 10_000; j++)
+                    sum += ThreadLocalRandom.current().nextDouble();
+                trials[trial] = sum / 10_000;
+            });
+        }
+        executor.awaitQuiescence();
+        double mean = 0;
+        for (double trial : trials)
+            mean += trial / trials.length;
+        System.out.println("Mean of the trials: " + mean);
+        System.out.println("-----------------------------------------------------------------------------------------");
+
+        System.out.println("Testing forking: sum 0 to 9,999,999 with tasks forking subtasks. Should print " +
+                49_999_995_000_000L);
+        LongAdder total = new LongAdder();
+        executor.submit(() -> sum(executor, 0, 10_000_000, total));
+        executor.awaitQuiescence();
+        System.out.println("Sum: " + total.sum());
+        System.out.println("-----------------------------------------------------------------------------------------");
+
+        System.out.println("Testing awaitQuiescence(): a task throws. Should throw an IllegalStateException caused " +
+                "by the task's exception, and the executor should keep working");
+        executor.submit(() -> {
+            throw new ArithmeticException("boom");
+        });
+        try {
+            executor.awaitQuiescence();
+        } catch (IllegalStateException e) {
+            System.out.println(e + ", caused by " + e.getCause());
+        }
+        AtomicBoolean ran = new AtomicBoolean();
+        executor.submit(() -> ran.set(true));
+        executor.awaitQuiescence();
+        System.out.println("Still working: " + ran.get());
+        System.out.println("-----------------------------------------------------------------------------------------");
+
+        System.out.println("Testing parking: leave the executor idle for 100 ms. Every worker should be parked " +
+                "without a timeout, in the WAITING state");
+        try {
+            Thread.sleep(100);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        int waiting = 0;
+        for (Worker worker : executor.workers)
+            if (worker.getState() == Thread.State.WAITING)
+                waiting++;
+        System.out.println("Workers waiting: " + waiting + " out of " + executor.parallelism());
+        System.out.println("-----------------------------------------------------------------------------------------");
+
+        System.out.println("Testing shutdown(): call it from a task. Should throw an IllegalStateException, " +
+                "rethrown by awaitQuiescence()");
+        executor.submit(executor::shutdown);
+        try {
+            executor.awaitQuiescence();
+        } catch (IllegalStateException e) {
+            System.out.println(e.getCause());
+        }
+        System.out.println("-----------------------------------------------------------------------------------------");
+
+        System.out.println("Testing shutdown(): shut down a single worker busy with a task while 10 more wait. " +
+                "Should run 1 task, then awaitQuiescence() should return");
+        WorkStealingExecutor single = new WorkStealingExecutor(1);
+        AtomicLong run = new AtomicLong();
+        for (int i = 0; i < 11; i++) {
+            single.submit(() -> {
+                run.incrementAndGet();
+                try {
+                    Thread.sleep(100);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+        }
+        while (run.get() == 0)
+            Thread.onSpinWait();
+        single.shutdown();
+        single.awaitQuiescence();
+        System.out.println("Tasks run: " + run.get());
+        System.out.println("-----------------------------------------------------------------------------------------");
+
+        System.out.println("Testing submit(): submit from 4 threads while shutdown() runs. Every submit that starts " +
+                "after shutdown() has returned should throw, and awaitQuiescence() should return");
+        WorkStealingExecutor racing = new WorkStealingExecutor(2);
+        AtomicBoolean returned = new AtomicBoolean();
+        AtomicLong accepted = new AtomicLong();
+        AtomicLong late = new AtomicLong();
+        Thread[] submitters = new Thread[4];
+        for (int t = 0; t < submitters.length; t++) {
+            submitters[t] = new Thread(() -> {
+                while (true) {
+                    boolean after = returned.get();
+                    try {
+                        racing.submit(() -> { });
+                    } catch (IllegalStateException e) {
+                        return;
+                    }
+                    accepted.incrementAndGet();
+                    if (after)
+                        late.incrementAndGet();
+                }
+            });
+            submitters[t].start();
+        }
+        while (accepted.get() < 10_000)
+            Thread.onSpinWait();
+        racing.shutdown();
+        returned.set(true);
+        for (Thread submitter : submitters) {
+            try {
+                submitter.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        racing.awaitQuiescence();
+        System.out.println("Submits accepted after shutdown() returned: " + late.get());
+        System.out.println("-----------------------------------------------------------------------------------------");
+
+        executor.shutdown();
+        System.out.println("Testing submit(): submit after shutdown(). Should throw an IllegalStateException");
+        try {
+            executor.submit(() -> { });
+        } catch (IllegalStateException e) {
+            System.out.println(e);
+        }
+        System.out.println("-----------------------------------------------------------------------------------------");
+    }
+}
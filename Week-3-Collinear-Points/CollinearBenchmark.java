@@ -0,0 +1,83 @@
+import edu.princeton.cs.algs4.StdRandom;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Benchmark client comparing FastCollinearPoints and BruteCollinearPoints. For every number of
+ * points n given as argument (50, 100, 200, 400 and 800 by default) it builds n distinct points,
+ * a tenth of them on a few lines so that segments are found, and times both constructors.
+ * BruteCollinearPoints is O(n^4) and is skipped above BRUTE_LIMIT points. Every measurement is
+ * repeated WARMUP_ROUNDS times to let the JIT compile the code, then timed over MEASURED_ROUNDS
+ * rounds and averaged.
+ */
+public class CollinearBenchmark {
+
+    private static final int WARMUP_ROUNDS = 3;
+    private static final int MEASURED_ROUNDS = 5;
+    private static final int BRUTE_LIMIT = 200;
+    private static final int MAX_COORDINATE = 32768;
+    private static final int LINE_POINTS = 5;
+    private static final int MAX_STEP = 7;
+    // far below the MAX_COORDINATE^2 possible points, so that drawing distinct ones stays fast
+    private static final int MAX_POINTS = 1_000_000;
+
+    private static final Benchmark BENCHMARK = new Benchmark(WARMUP_ROUNDS, MEASURED_ROUNDS);
+
+    // n distinct points, one in ten on lines of LINE_POINTS points. Every line gets its own random
+    // origin and small random slope, so the number of lines grows with n instead of the points
+    // running out
+    private static Point[] points(int n) {
+        if (n < 0 || n > MAX_POINTS) {
+            throw new IllegalArgumentException(
+                    "CollinearBenchmark.points(): Cannot generate " + n + " points, at most "
+                            + MAX_POINTS + "!");
+        }
+
+        Set<Long> used = new HashSet<>();
+        Point[] points = new Point[n];
+        int count = 0;
+        int onLines = n / 10;
+        while (count < onLines) {
+            int dx = StdRandom.uniform(1, MAX_STEP + 1);
+            int dy = StdRandom.uniform(-MAX_STEP, MAX_STEP + 1);
+            int x = StdRandom.uniform(MAX_COORDINATE - (LINE_POINTS - 1) * MAX_STEP);
+            int y = StdRandom.uniform((LINE_POINTS - 1) * MAX_STEP,
+                                      MAX_COORDINATE - (LINE_POINTS - 1) * MAX_STEP);
+            for (int k = 0; k < LINE_POINTS && count < onLines; k++) {
+                if (used.add((long) (x + k * dx) * MAX_COORDINATE + y + k * dy)) {
+                    points[count++] = new Point(x + k * dx, y + k * dy);
+                }
+            }
+        }
+        while (count < n) {
+            int x = StdRandom.uniform(MAX_COORDINATE);
+            int y = StdRandom.uniform(MAX_COORDINATE);
+            if (used.add((long) x * MAX_COORDINATE + y)) {
+                points[count++] = new Point(x, y);
+            }
+        }
+        return points;
+    }
+
+    public static void main(String[] args) {
+        int[] sizes = {50, 100, 200, 400, 800};
+        if (args.length > 0) {
+            sizes = new int[args.length];
+            for (int i = 0; i < args.length; i++) {
+                sizes[i] = Integer.parseInt(args[i]);
+            }
+        }
+
+        for (int n : sizes) {
+            Point[] points = points(n);
+            double fast = BENCHMARK.time(() -> new FastCollinearPoints(points).numberOfSegments());
+            System.out.printf("n = %6d  FastCollinearPoints  %10.3f ms%n", n, fast / 1e6);
+            if (n <= BRUTE_LIMIT) {
+                double brute = BENCHMARK.time(
+                        () -> new BruteCollinearPoints(points).numberOfSegments());
+                System.out.printf("n = %6d  BruteCollinearPoints %10.3f ms%n", n, brute / 1e6);
+            }
+        }
+    }
+}
@@ -0,0 +1,47 @@
+import java.util.function.LongSupplier;
+
+/**
+ * Timing harness shared by the benchmark clients of this week. Every task is run a number of
+ * warm-up rounds untimed to let the JIT compile the code, then timed over a number of measured
+ * rounds and averaged. The value each run returns is accumulated into a volatile sink so that the
+ * JIT cannot drop the work as dead code.
+ */
+public class Benchmark {
+
+    private final int warmupRounds;
+    private final int measuredRounds;
+    private volatile long sink;
+
+    /**
+     * @param warmupRounds Number of untimed rounds run before measuring
+     * @param measuredRounds Number of timed rounds averaged
+     */
+    public Benchmark(int warmupRounds, int measuredRounds) {
+        if (warmupRounds < 0 || measuredRounds < 1)
+            throw new IllegalArgumentException("Benchmark(): Need at least one measured round!");
+        this.warmupRounds = warmupRounds;
+        this.measuredRounds = measuredRounds;
+    }
+
+    /**
+     * Run a task warmupRounds times untimed, then measuredRounds times timed
+     *
+     * @param task Task to time, returning a value that depends on all of its work
+     * @return Average time of a measured round, in nanoseconds
+     */
+    public double time(LongSupplier task) {
+        for (int i = 0; i < warmupRounds; i++)
+            sink += task.getAsLong();
+        long start = System.nanoTime();
+        for (int i = 0; i < measuredRounds; i++)
+            sink += task.getAsLong();
+        return (double) (System.nanoTime() - start) / measuredRounds;
+    }
+
+    /**
+     * @return Sum of the values returned by every run of every task timed so far
+     */
+    public long sink() {
+        return sink;
+    }
+}
@@ -0,0 +1,81 @@
+import edu.princeton.cs.algs4.In;
+import edu.princeton.cs.algs4.StdRandom;
+
+/**
+ * Benchmark client for Solver. Given puzzle files as arguments (for example the puzzle*.txt files
+ * of the assignment), it times solving each of them. Without arguments, it generates 3x3 and 4x4
+ * boards by walking SCRAMBLE_STEPS random moves away from the goal, for every scramble depth, so
+ * the output shows how the solving time grows with the length of the solution. Every measurement
+ * is repeated WARMUP_ROUNDS times to let the JIT compile the code, then timed over MEASURED_ROUNDS
+ * rounds and averaged.
+ */
+public class SolverBenchmark {
+
+    private static final int WARMUP_ROUNDS = 2;
+    private static final int MEASURED_ROUNDS = 3;
+    private static final int[] SCRAMBLE_STEPS = {10, 20, 30, 40};
+
+    private static final Benchmark BENCHMARK = new Benchmark(WARMUP_ROUNDS, MEASURED_ROUNDS);
+
+    // walk the blank steps random moves away from the goal, never undoing the previous move
+    private static Board scrambled(int n, int steps) {
+        int[][] tiles = new int[n][n];
+        for (int i = 0; i < n * n - 1; i++) {
+            tiles[i / n][i % n] = i + 1;
+        }
+        int row = n - 1;
+        int col = n - 1;
+        int previous = -1;
+        int[][] moves = {{-1, 0}, {1, 0}, {0, -1}, {0, 1}};
+        for (int step = 0; step < steps; step++) {
+            int move = StdRandom.uniform(moves.length);
+            int newRow = row + moves[move][0];
+            int newCol = col + moves[move][1];
+            if (newRow < 0 || newRow >= n || newCol < 0 || newCol >= n || (move ^ 1) == previous) {
+                step--;
+                continue;
+            }
+            tiles[row][col] = tiles[newRow][newCol];
+            tiles[newRow][newCol] = 0;
+            row = newRow;
+            col = newCol;
+            previous = move;
+        }
+        return new Board(tiles);
+    }
+
+    private static Board read(String file) {
+        In in = new In(file);
+        int n = in.readInt();
+        int[][] tiles = new int[n][n];
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < n; j++) {
+                tiles[i][j] = in.readInt();
+            }
+        }
+        return new Board(tiles);
+    }
+
+    private static void report(String name, Board board) {
+        int moves = new Solver(board).moves();
+        double nanos = BENCHMARK.time(() -> new Solver(board).moves());
+        System.out.printf("%-24s n = %d  moves = %3d  %10.3f ms%n", name, board.dimension(), moves,
+                          nanos / 1e6);
+    }
+
+    public static void main(String[] args) {
+        if (args.length > 0) {
+            for (String file : args) {
+                report(file, read(file));
+            }
+            return;
+        }
+
+        StdRandom.setSeed(42L);
+        for (int n = 3; n <= 4; n++) {
+            for (int steps : SCRAMBLE_STEPS) {
+                report("scrambled " + steps + " steps", scrambled(n, steps));
+            }
+        }
+    }
+}
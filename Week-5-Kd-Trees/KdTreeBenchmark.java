@@ -0,0 +1,98 @@
+import edu.princeton.cs.algs4.Point2D;
+import edu.princeton.cs.algs4.RectHV;
+import edu.princeton.cs.algs4.StdRandom;
+
+/**
+ * Benchmark client comparing KdTree and PointSET. For every number of points n given as argument
+ * (1,000, 10,000 and 100,000 by default) it times inserting n random points in the unit square,
+ * QUERIES range searches with small random rectangles and QUERIES nearest neighbor searches with
+ * random points. Every measurement is repeated WARMUP_ROUNDS times to let the JIT compile the
+ * code, then timed over MEASURED_ROUNDS rounds and averaged.
+ */
+public class KdTreeBenchmark {
+
+    private static final int WARMUP_ROUNDS = 3;
+    private static final int MEASURED_ROUNDS = 5;
+    private static final int QUERIES = 1000;
+    private static final double RECTANGLE_SIZE = 0.05;
+
+    private static final Benchmark BENCHMARK = new Benchmark(WARMUP_ROUNDS, MEASURED_ROUNDS);
+
+    private static void report(String name, int n, double nanos, int operations) {
+        System.out.printf("n = %,9d  %-20s %10.2f us/op%n", n, name, nanos / operations / 1e3);
+    }
+
+    /**
+     * Benchmark client
+     *
+     * @param args Number of points
+     */
+    public static void main(String[] args) {
+        int[] sizes = {1_000, 10_000, 100_000};
+        if (args.length > 0) {
+            sizes = new int[args.length];
+            for (int i = 0; i < args.length; i++)
+                sizes[i] = Integer.parseInt(args[i]);
+        }
+
+        for (int n : sizes) {
+            Point2D[] points = new Point2D[n];
+            for (int i = 0; i < n; i++)
+                points[i] = new Point2D(StdRandom.uniform(), StdRandom.uniform());
+            Point2D[] targets = new Point2D[QUERIES];
+            RectHV[] rectangles = new RectHV[QUERIES];
+            for (int i = 0; i < QUERIES; i++) {
+                targets[i] = new Point2D(StdRandom.uniform(), StdRandom.uniform());
+                double x = StdRandom.uniform(0.0, 1 - RECTANGLE_SIZE);
+                double y = StdRandom.uniform(0.0, 1 - RECTANGLE_SIZE);
+                rectangles[i] = new RectHV(x, y, x + RECTANGLE_SIZE, y + RECTANGLE_SIZE);
+            }
+
+            KdTree kdTree = new KdTree();
+            PointSET pointSET = new PointSET();
+            for (Point2D p : points) {
+                kdTree.insert(p);
+                pointSET.insert(p);
+            }
+
+            report("KdTree insert", n, BENCHMARK.time(() -> {
+                KdTree tree = new KdTree();
+                for (Point2D p : points)
+                    tree.insert(p);
+                return tree.size();
+            }), n);
+            report("PointSET insert", n, BENCHMARK.time(() -> {
+                PointSET set = new PointSET();
+                for (Point2D p : points)
+                    set.insert(p);
+                return set.size();
+            }), n);
+            report("KdTree range", n, BENCHMARK.time(() -> {
+                long found = 0;
+                for (RectHV rect : rectangles)
+                    for (Point2D p : kdTree.range(rect))
+                        found++;
+                return found;
+            }), QUERIES);
+            report("PointSET range", n, BENCHMARK.time(() -> {
+                long found = 0;
+                for (RectHV rect : rectangles)
+                    for (Point2D p : pointSET.range(rect))
+                        found++;
+                return found;
+            }), QUERIES);
+            report("KdTree nearest", n, BENCHMARK.time(() -> {
+                long hash = 0;
+                for (Point2D target : targets)
+                    hash += kdTree.nearest(target).hashCode();
+                return hash;
+            }), QUERIES);
+            report("PointSET nearest", n, BENCHMARK.time(() -> {
+                long hash = 0;
+                for (Point2D target : targets)
+                    hash += pointSET.nearest(target).hashCode();
+                return hash;
+            }), QUERIES);
+        }
+    }
+}